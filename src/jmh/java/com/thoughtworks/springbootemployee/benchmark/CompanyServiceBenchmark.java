@@ -0,0 +1,65 @@
+package com.thoughtworks.springbootemployee.benchmark;
+
+import com.thoughtworks.springbootemployee.jobs.CascadeJobProperties;
+import com.thoughtworks.springbootemployee.jobs.EmployeeDeactivationJobs;
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.repository.CompanyRepository;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import com.thoughtworks.springbootemployee.service.CompanyService;
+import io.micrometer.core.instrument.Metrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.support.NoOpCacheManager;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompanyServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int tableSize;
+
+    private EmployeeDeactivationJobs deactivationJobs;
+    private CompanyService companyService;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        CompanyRepository companyRepository = new CompanyRepository();
+        for (int i = 1; i <= EmployeeTables.COMPANY_COUNT; i++) {
+            companyRepository.addCompany(new Company("Company " + i));
+        }
+        EmployeeRepository employeeRepository = EmployeeTables.populate(tableSize);
+        deactivationJobs = new EmployeeDeactivationJobs(employeeRepository, new NoOpCacheManager(),
+                new CascadeJobProperties(), Metrics.globalRegistry);
+        companyService = new CompanyService(companyRepository, employeeRepository, deactivationJobs);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        deactivationJobs.destroy();
+    }
+
+    @Benchmark
+    public List<Employee> findEmployeesByCompanyId() {
+        return companyService.findEmployeesByCompanyId(ThreadLocalRandom.current().nextLong(EmployeeTables.COMPANY_COUNT) + 1);
+    }
+}
@@ -0,0 +1,72 @@
+package com.thoughtworks.springbootemployee.benchmark;
+
+import com.thoughtworks.springbootemployee.model.CursorPage;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import com.thoughtworks.springbootemployee.repository.StorageMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeRepositoryBenchmark {
+
+    private static final long PAGE_SIZE = 20;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int tableSize;
+
+    @Param({"HEAP", "COLUMNAR"})
+    private StorageMode storageMode;
+
+    private EmployeeRepository employeeRepository;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        employeeRepository = EmployeeTables.populate(tableSize, storageMode);
+    }
+
+    @Benchmark
+    public Employee findEmployeeById() {
+        return employeeRepository.findEmployeeById(EmployeeTables.randomId(tableSize));
+    }
+
+    @Benchmark
+    public List<Employee> findEmployeeByGender() {
+        return employeeRepository.findEmployeeByGender("Female");
+    }
+
+    @Benchmark
+    public List<Employee> listEmployeesByPage() {
+        long pageCount = tableSize / PAGE_SIZE;
+        return employeeRepository.listEmployeesByPage(ThreadLocalRandom.current().nextLong(pageCount) + 1, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CursorPage<Employee> listEmployeesAfter() {
+        return employeeRepository.listEmployeesAfter(EmployeeTables.randomId(tableSize), (int) PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Employee addEmployee() {
+        return employeeRepository.addEmployee(EmployeeTables.newEmployee(ThreadLocalRandom.current().nextInt()));
+    }
+}
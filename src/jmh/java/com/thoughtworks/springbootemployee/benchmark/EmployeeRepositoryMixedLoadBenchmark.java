@@ -0,0 +1,77 @@
+package com.thoughtworks.springbootemployee.benchmark;
+
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrent read/write mixes against one shared table. Each group runs its readers and writers at
+ * the same time; the total thread count can be scaled further with JMH's {@code -tg} option.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeRepositoryMixedLoadBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int tableSize;
+
+    private EmployeeRepository employeeRepository;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        employeeRepository = EmployeeTables.populate(tableSize);
+    }
+
+    @Benchmark
+    @Group("readHeavy")
+    @GroupThreads(7)
+    public Employee readHeavyLookup() {
+        return employeeRepository.findEmployeeById(EmployeeTables.randomId(tableSize));
+    }
+
+    @Benchmark
+    @Group("readHeavy")
+    @GroupThreads(1)
+    public Employee readHeavyUpdate() {
+        return updateRandomEmployee();
+    }
+
+    @Benchmark
+    @Group("balanced")
+    @GroupThreads(4)
+    public Employee balancedLookup() {
+        return employeeRepository.findEmployeeById(EmployeeTables.randomId(tableSize));
+    }
+
+    @Benchmark
+    @Group("balanced")
+    @GroupThreads(4)
+    public Employee balancedUpdate() {
+        return updateRandomEmployee();
+    }
+
+    private Employee updateRandomEmployee() {
+        int salary = ThreadLocalRandom.current().nextInt(3000, 10000);
+        return employeeRepository.updateEmployee(EmployeeTables.randomId(tableSize), new Employee(null, null, 30, null, salary));
+    }
+}
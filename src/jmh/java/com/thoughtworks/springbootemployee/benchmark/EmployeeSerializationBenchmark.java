@@ -0,0 +1,107 @@
+package com.thoughtworks.springbootemployee.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.wire.ProtobufWireFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeSerializationBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int listSize;
+
+    @Param({"JSON", "SMILE", "CBOR", "PROTOBUF"})
+    private WireFormat format;
+
+    private List<Employee> employees;
+    private byte[] serializedEmployees;
+
+    @Setup(Level.Trial)
+    public void prepare() throws IOException {
+        employees = IntStream.range(0, listSize)
+                .mapToObj(EmployeeTables::newEmployee)
+                .collect(Collectors.toList());
+        serializedEmployees = format.write(employees);
+    }
+
+    @TearDown(Level.Trial)
+    public void reportPayloadSize() {
+        System.out.printf(Locale.ROOT, "%n%s payload for %d employees: %d bytes (%.1f bytes/employee)%n", format,
+                listSize, serializedEmployees.length, (double) serializedEmployees.length / listSize);
+    }
+
+    @Benchmark
+    public byte[] serializeEmployees() throws IOException {
+        return format.write(employees);
+    }
+
+    @Benchmark
+    public List<Employee> deserializeEmployees() throws IOException {
+        return format.read(serializedEmployees);
+    }
+
+    public enum WireFormat {
+        JSON(new ObjectMapper()),
+        SMILE(new ObjectMapper(new SmileFactory())),
+        CBOR(new ObjectMapper(new CBORFactory())),
+        PROTOBUF(null) {
+            @Override
+            byte[] write(List<Employee> employees) throws IOException {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                CodedOutputStream output = CodedOutputStream.newInstance(bytes);
+                ProtobufWireFormat.writeList(employees, output);
+                output.flush();
+                return bytes.toByteArray();
+            }
+
+            @Override
+            List<Employee> read(byte[] payload) throws IOException {
+                return ProtobufWireFormat.readList(Employee.class, CodedInputStream.newInstance(payload));
+            }
+        };
+
+        private final ObjectMapper objectMapper;
+
+        WireFormat(ObjectMapper objectMapper) {
+            this.objectMapper = objectMapper;
+        }
+
+        byte[] write(List<Employee> employees) throws IOException {
+            return objectMapper.writeValueAsBytes(employees);
+        }
+
+        List<Employee> read(byte[] payload) throws IOException {
+            return List.of(objectMapper.readValue(payload, Employee[].class));
+        }
+    }
+}
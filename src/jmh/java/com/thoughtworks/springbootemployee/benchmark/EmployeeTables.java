@@ -0,0 +1,42 @@
+package com.thoughtworks.springbootemployee.benchmark;
+
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.persistence.EntityJournal;
+import com.thoughtworks.springbootemployee.repository.AtomicIdGenerator;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import com.thoughtworks.springbootemployee.repository.StorageMode;
+import io.micrometer.core.instrument.Metrics;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+final class EmployeeTables {
+
+    static final int COMPANY_COUNT = 1000;
+    private static final String[] GENDERS = {"Female", "Male"};
+
+    private EmployeeTables() {
+    }
+
+    static EmployeeRepository populate(int tableSize) {
+        return populate(tableSize, StorageMode.HEAP);
+    }
+
+    static EmployeeRepository populate(int tableSize, StorageMode storageMode) {
+        EmployeeRepository employeeRepository = new EmployeeRepository(new AtomicIdGenerator(), EntityJournal.disabled(),
+                storageMode, Metrics.globalRegistry);
+        employeeRepository.cleanAll();
+        for (int i = 0; i < tableSize; i++) {
+            employeeRepository.addEmployee(newEmployee(i));
+        }
+        return employeeRepository;
+    }
+
+    static Employee newEmployee(int seed) {
+        return new Employee(null, "Employee" + seed, 18 + seed % 48, GENDERS[seed % GENDERS.length],
+                3000 + seed % 7000, (long) (seed % COMPANY_COUNT) + 1);
+    }
+
+    static long randomId(int tableSize) {
+        return ThreadLocalRandom.current().nextLong(tableSize) + 1;
+    }
+}
@@ -0,0 +1,79 @@
+package com.thoughtworks.springbootemployee.benchmark;
+
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.repository.ConcurrentEntityStore;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import com.thoughtworks.springbootemployee.repository.StorageMode;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.util.Locale;
+import java.util.function.IntFunction;
+
+/**
+ * Measures the retained heap per employee row for every {@link StorageMode}, both for the bare
+ * entity store and for a repository with its indexes and statistics. Retained heap is the used heap
+ * after full collections, minus the baseline taken before the rows were created, so run it on an
+ * otherwise idle JVM; direct buffer memory is reported separately. Pass the row count as the first
+ * argument.
+ */
+public final class StorageFootprint {
+
+    private static final int DEFAULT_ROWS = 1_000_000;
+    private static final int GC_ROUNDS = 5;
+    private static final double MEGABYTE = 1024.0 * 1024.0;
+
+    private StorageFootprint() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ROWS;
+        System.out.printf(Locale.ROOT, "%-10s %-12s %14s %14s %14s %14s%n", "mode", "scope", "heap MB",
+                "heap B/row", "direct MB", "direct B/row");
+        for (StorageMode mode : StorageMode.values()) {
+            report(mode, "store", rows, count -> populateStore(mode, count));
+            report(mode, "repository", rows, count -> EmployeeTables.populate(count, mode));
+        }
+    }
+
+    private static ConcurrentEntityStore<Employee> populateStore(StorageMode mode, int rows) {
+        ConcurrentEntityStore<Employee> store = new ConcurrentEntityStore<>(Employee::getId, Employee::copy,
+                mode.createEmployeeStorage());
+        for (int i = 0; i < rows; i++) {
+            Employee employee = EmployeeTables.newEmployee(i);
+            store.insert(new Employee((long) i + 1, employee.getName(), employee.getAge(), employee.getGender(),
+                    employee.getSalary(), employee.getCompanyId()));
+        }
+        return store;
+    }
+
+    private static void report(StorageMode mode, String scope, int rows, IntFunction<Object> populate)
+            throws InterruptedException {
+        long heapBaseline = usedHeapAfterGc();
+        long directBaseline = usedDirectMemory();
+        Object table = populate.apply(rows);
+        long heap = usedHeapAfterGc() - heapBaseline;
+        long direct = usedDirectMemory() - directBaseline;
+        System.out.printf(Locale.ROOT, "%-10s %-12s %14.1f %14.1f %14.1f %14.1f%n", mode.name().toLowerCase(Locale.ROOT),
+                scope, heap / MEGABYTE, (double) heap / rows, direct / MEGABYTE, (double) direct / rows);
+        Reference.reachabilityFence(table);
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < GC_ROUNDS; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static long usedDirectMemory() {
+        return ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> "direct".equals(pool.getName()))
+                .mapToLong(BufferPoolMXBean::getMemoryUsed)
+                .sum();
+    }
+}
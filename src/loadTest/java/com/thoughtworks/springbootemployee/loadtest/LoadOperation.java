@@ -0,0 +1,92 @@
+package com.thoughtworks.springbootemployee.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.concurrent.ThreadLocalRandom;
+
+enum LoadOperation {
+    GET_EMPLOYEE("/employees") {
+        @Override
+        HttpRequest.Builder request(URI target) {
+            return HttpRequest.newBuilder(target).GET();
+        }
+    },
+    CREATE_EMPLOYEE("/employees") {
+        @Override
+        HttpRequest.Builder request(URI target) {
+            return json(HttpRequest.newBuilder(target)).POST(HttpRequest.BodyPublishers.ofString(employeeJson()));
+        }
+    },
+    UPDATE_EMPLOYEE("/employees") {
+        @Override
+        HttpRequest.Builder request(URI target) {
+            return json(HttpRequest.newBuilder(target)).PUT(HttpRequest.BodyPublishers.ofString(employeeJson()));
+        }
+    },
+    DELETE_EMPLOYEE("/employees") {
+        @Override
+        HttpRequest.Builder request(URI target) {
+            return HttpRequest.newBuilder(target).DELETE();
+        }
+    },
+    GET_COMPANY("/companies") {
+        @Override
+        HttpRequest.Builder request(URI target) {
+            return HttpRequest.newBuilder(target).GET();
+        }
+    },
+    CREATE_COMPANY("/companies") {
+        @Override
+        HttpRequest.Builder request(URI target) {
+            return json(HttpRequest.newBuilder(target)).POST(HttpRequest.BodyPublishers.ofString(companyJson()));
+        }
+    },
+    UPDATE_COMPANY("/companies") {
+        @Override
+        HttpRequest.Builder request(URI target) {
+            return json(HttpRequest.newBuilder(target)).PUT(HttpRequest.BodyPublishers.ofString(companyJson()));
+        }
+    },
+    DELETE_COMPANY("/companies") {
+        @Override
+        HttpRequest.Builder request(URI target) {
+            return HttpRequest.newBuilder(target).DELETE();
+        }
+    };
+
+    private final String path;
+
+    LoadOperation(String path) {
+        this.path = path;
+    }
+
+    String getPath() {
+        return path;
+    }
+
+    boolean isCreate() {
+        return this == CREATE_EMPLOYEE || this == CREATE_COMPANY;
+    }
+
+    HttpRequest toRequest(URI baseUri, long targetId) {
+        URI target = isCreate() ? baseUri.resolve(path) : baseUri.resolve(path + "/" + targetId);
+        return request(target).build();
+    }
+
+    abstract HttpRequest.Builder request(URI target);
+
+    static String employeeJson() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return "{\"name\":\"Load" + random.nextInt(1_000_000) + "\",\"age\":" + random.nextInt(18, 66)
+                + ",\"gender\":\"" + (random.nextBoolean() ? "Female" : "Male") + "\",\"salary\":"
+                + random.nextInt(3000, 10000) + ",\"companyId\":" + random.nextInt(1, 6) + "}";
+    }
+
+    static String companyJson() {
+        return "{\"name\":\"Load Company " + ThreadLocalRandom.current().nextInt(1_000_000) + "\"}";
+    }
+
+    private static HttpRequest.Builder json(HttpRequest.Builder builder) {
+        return builder.header("Content-Type", "application/json");
+    }
+}
@@ -0,0 +1,84 @@
+package com.thoughtworks.springbootemployee.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+final class LoadTestReport {
+
+    private static final String ROW_FORMAT = "%-16s %10s %12s %10s %10s %10s %10s %8s%n";
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final Duration measured;
+    private final Map<LoadOperation, Histogram> latencies = new EnumMap<>(LoadOperation.class);
+    private final Map<LoadOperation, Long> errors = new EnumMap<>(LoadOperation.class);
+    private final Histogram total = new Histogram(3);
+    private long totalErrors;
+
+    LoadTestReport(Duration measured) {
+        this.measured = measured;
+    }
+
+    void add(LoadOperation operation, Histogram histogram, long errorCount) {
+        latencies.put(operation, histogram);
+        errors.put(operation, errorCount);
+        total.add(histogram);
+        totalErrors += errorCount;
+    }
+
+    double throughput() {
+        return total.getTotalCount() / (measured.toMillis() / 1000.0);
+    }
+
+    double errorRate() {
+        long requests = total.getTotalCount() + totalErrors;
+        return requests == 0 ? 0 : (double) totalErrors / requests;
+    }
+
+    String format() {
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format(ROW_FORMAT, "operation", "requests", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "errors"));
+        latencies.forEach((operation, histogram) -> summary.append(row(operation.name(), histogram, errors.get(operation))));
+        summary.append(row("TOTAL", total, totalErrors));
+        return summary.toString();
+    }
+
+    List<String> findSloBreaches(LoadTestSettings settings) {
+        List<String> breaches = new ArrayList<>();
+        double p99 = millis(total.getValueAtPercentile(99.0));
+        double p999 = millis(total.getValueAtPercentile(99.9));
+        if (p99 > settings.getSloP99Millis()) {
+            breaches.add(String.format("p99 %.2f ms > %.2f ms", p99, settings.getSloP99Millis()));
+        }
+        if (p999 > settings.getSloP999Millis()) {
+            breaches.add(String.format("p99.9 %.2f ms > %.2f ms", p999, settings.getSloP999Millis()));
+        }
+        if (throughput() < settings.getSloMinThroughput()) {
+            breaches.add(String.format("throughput %.1f req/s < %.1f req/s", throughput(), settings.getSloMinThroughput()));
+        }
+        if (errorRate() > settings.getSloMaxErrorRate()) {
+            breaches.add(String.format("error rate %.4f > %.4f", errorRate(), settings.getSloMaxErrorRate()));
+        }
+        return breaches;
+    }
+
+    private String row(String name, Histogram histogram, long errorCount) {
+        double seconds = measured.toMillis() / 1000.0;
+        return String.format(ROW_FORMAT, name,
+                histogram.getTotalCount(),
+                String.format("%.1f", histogram.getTotalCount() / seconds),
+                String.format("%.2f", millis(histogram.getValueAtPercentile(50.0))),
+                String.format("%.2f", millis(histogram.getValueAtPercentile(99.0))),
+                String.format("%.2f", millis(histogram.getValueAtPercentile(99.9))),
+                String.format("%.2f", millis(histogram.getMaxValue())),
+                errorCount);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+}
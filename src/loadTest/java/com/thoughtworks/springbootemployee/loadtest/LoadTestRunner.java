@@ -0,0 +1,223 @@
+package com.thoughtworks.springbootemployee.loadtest;
+
+import com.thoughtworks.springbootemployee.SpringBootEmployeeApplication;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Boots the application on a random port, seeds it through the batch endpoints and then drives the
+ * configured operation mix from a fixed number of workers. With {@code loadtest.ratePerSecond} set the
+ * workers pace themselves and latency is measured from each request's scheduled start, so a stalled
+ * server is not hidden by coordinated omission. Listing several {@code loadtest.threadModes} runs the
+ * same scenario once per Tomcat threading model against a fresh application, for a side-by-side comparison.
+ */
+public class LoadTestRunner {
+
+    private static final int SEED_BATCH_SIZE = 500;
+    private static final Pattern ID_PATTERN = Pattern.compile("\"id\":(\\d+)");
+
+    private final LoadTestSettings settings;
+    private final URI baseUri;
+    private final HttpClient client;
+    private final LoadOperation[] operations;
+    private final int[] cumulativeWeights;
+    private final Map<LoadOperation, Recorder> recorders = new EnumMap<>(LoadOperation.class);
+    private final Map<LoadOperation, LongAdder> errors = new EnumMap<>(LoadOperation.class);
+    private final AtomicLong lastEmployeeId = new AtomicLong();
+    private final AtomicLong lastCompanyId = new AtomicLong();
+
+    LoadTestRunner(LoadTestSettings settings, URI baseUri) {
+        this.settings = settings;
+        this.baseUri = baseUri;
+        this.client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        this.operations = settings.getMix().keySet().toArray(new LoadOperation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += settings.getMix().get(operations[i]);
+            cumulativeWeights[i] = total;
+            recorders.put(operations[i], new Recorder(3));
+            errors.put(operations[i], new LongAdder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        StringBuilder summaries = new StringBuilder();
+        boolean passed = true;
+        for (String threadMode : settings.getThreadModes()) {
+            LoadTestReport report = runAgainstFreshApplication(settings, threadMode, args);
+            String summary = String.format("%s threads%n%s", threadMode, report.format());
+            System.out.println(summary);
+            summaries.append(summary).append(System.lineSeparator());
+            List<String> breaches = report.findSloBreaches(settings);
+            breaches.forEach(breach -> System.out.println("SLO breached (" + threadMode + " threads): " + breach));
+            passed &= breaches.isEmpty();
+        }
+        String reportFile = System.getProperty("loadtest.reportFile");
+        if (reportFile != null) {
+            Path reportPath = Path.of(reportFile).toAbsolutePath();
+            Files.createDirectories(reportPath.getParent());
+            Files.writeString(reportPath, summaries);
+        }
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+
+    private static LoadTestReport runAgainstFreshApplication(LoadTestSettings settings, String threadMode, String[] args)
+            throws Exception {
+        List<String> properties = new ArrayList<>(List.of(
+                "server.port=0",
+                "spring.main.banner-mode=off",
+                "spring.threads.virtual.enabled=" + LoadTestSettings.VIRTUAL_THREADS.equals(threadMode)));
+        if (settings.isPersistence()) {
+            properties.add("persistence.enabled=true");
+            properties.add("persistence.directory=" + Files.createTempDirectory("loadtest-" + threadMode));
+        }
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringBootEmployeeApplication.class)
+                .properties(properties.toArray(new String[0]))
+                .run(args);
+        try {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            return new LoadTestRunner(settings, URI.create("http://localhost:" + port + "/")).run();
+        } finally {
+            context.close();
+        }
+    }
+
+    LoadTestReport run() throws Exception {
+        lastEmployeeId.set(seed("employees/batch", settings.getSeedEmployees(), LoadOperation::employeeJson));
+        lastCompanyId.set(seed("companies/batch", settings.getSeedCompanies(), LoadOperation::companyJson));
+
+        long warmupEnd = System.nanoTime() + settings.getWarmup().toNanos();
+        long runEnd = warmupEnd + settings.getDuration().toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(settings.getConcurrency());
+        try {
+            List<Future<?>> running = new ArrayList<>();
+            for (int i = 0; i < settings.getConcurrency(); i++) {
+                running.add(workers.submit(() -> drive(warmupEnd, runEnd)));
+            }
+            for (Future<?> worker : running) {
+                worker.get();
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+
+        LoadTestReport report = new LoadTestReport(settings.getDuration());
+        for (LoadOperation operation : operations) {
+            report.add(operation, recorders.get(operation).getIntervalHistogram(), errors.get(operation).sum());
+        }
+        return report;
+    }
+
+    private long seed(String path, int count, Supplier<String> entityJson) throws IOException, InterruptedException {
+        long lastId = 0;
+        for (int offset = 0; offset < count; offset += SEED_BATCH_SIZE) {
+            String body = IntStream.range(0, Math.min(SEED_BATCH_SIZE, count - offset))
+                    .mapToObj(index -> entityJson.get())
+                    .collect(Collectors.joining(",", "[", "]"));
+            HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(path))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding " + path + " failed with status " + response.statusCode());
+            }
+            lastId = Math.max(lastId, maxId(response.body()));
+        }
+        return lastId;
+    }
+
+    private void drive(long warmupEnd, long runEnd) {
+        long intervalNanos = settings.getRatePerSecond() > 0
+                ? TimeUnit.SECONDS.toNanos(settings.getConcurrency()) / settings.getRatePerSecond()
+                : 0;
+        long scheduledStart = System.nanoTime();
+        while (scheduledStart < runEnd) {
+            if (intervalNanos > 0) {
+                long wait = scheduledStart - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+            } else {
+                scheduledStart = System.nanoTime();
+            }
+            LoadOperation operation = pickOperation();
+            boolean succeeded = send(operation);
+            long latency = System.nanoTime() - scheduledStart;
+            if (scheduledStart >= warmupEnd) {
+                if (succeeded) {
+                    recorders.get(operation).recordValue(latency);
+                } else {
+                    errors.get(operation).increment();
+                }
+            }
+            scheduledStart = intervalNanos > 0 ? scheduledStart + intervalNanos : System.nanoTime();
+        }
+    }
+
+    private boolean send(LoadOperation operation) {
+        AtomicLong lastId = operation.getPath().equals("/employees") ? lastEmployeeId : lastCompanyId;
+        long targetId = ThreadLocalRandom.current().nextLong(lastId.get()) + 1;
+        try {
+            HttpResponse<String> response = client.send(operation.toRequest(baseUri, targetId), HttpResponse.BodyHandlers.ofString());
+            if (operation.isCreate() && response.statusCode() == 201) {
+                lastId.accumulateAndGet(maxId(response.body()), Math::max);
+            }
+            return response.statusCode() < 400;
+        } catch (IOException exception) {
+            return false;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private LoadOperation pickOperation() {
+        int pick = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private static long maxId(String body) {
+        long maxId = 0;
+        Matcher matcher = ID_PATTERN.matcher(body);
+        while (matcher.find()) {
+            maxId = Math.max(maxId, Long.parseLong(matcher.group(1)));
+        }
+        return maxId;
+    }
+}
@@ -0,0 +1,141 @@
+package com.thoughtworks.springbootemployee.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Load-test knobs, read from {@code loadtest.*} system properties so they can be passed straight through
+ * from the Gradle command line, e.g. {@code ./gradlew loadTest -Ploadtest.concurrency=64}.
+ */
+final class LoadTestSettings {
+
+    static final String PLATFORM_THREADS = "platform";
+    static final String VIRTUAL_THREADS = "virtual";
+
+    private static final String DEFAULT_MIX = "GET_EMPLOYEE:50,CREATE_EMPLOYEE:10,UPDATE_EMPLOYEE:10,DELETE_EMPLOYEE:5,"
+            + "GET_COMPANY:15,CREATE_COMPANY:4,UPDATE_COMPANY:4,DELETE_COMPANY:2";
+
+    private final Duration warmup;
+    private final Duration duration;
+    private final int concurrency;
+    private final int ratePerSecond;
+    private final int seedEmployees;
+    private final int seedCompanies;
+    private final Map<LoadOperation, Integer> mix;
+    private final List<String> threadModes;
+    private final boolean persistence;
+    private final double sloP99Millis;
+    private final double sloP999Millis;
+    private final double sloMinThroughput;
+    private final double sloMaxErrorRate;
+
+    private LoadTestSettings() {
+        warmup = Duration.ofSeconds(Long.getLong("loadtest.warmupSeconds", 10));
+        duration = Duration.ofSeconds(Long.getLong("loadtest.durationSeconds", 30));
+        concurrency = Integer.getInteger("loadtest.concurrency", 32);
+        ratePerSecond = Integer.getInteger("loadtest.ratePerSecond", 0);
+        seedEmployees = Integer.getInteger("loadtest.seedEmployees", 10_000);
+        seedCompanies = Integer.getInteger("loadtest.seedCompanies", 1_000);
+        mix = parseMix(System.getProperty("loadtest.mix", DEFAULT_MIX));
+        threadModes = parseThreadModes(System.getProperty("loadtest.threadModes", PLATFORM_THREADS));
+        persistence = Boolean.getBoolean("loadtest.persistence");
+        sloP99Millis = doubleProperty("loadtest.slo.p99Millis", 50);
+        sloP999Millis = doubleProperty("loadtest.slo.p999Millis", 200);
+        sloMinThroughput = doubleProperty("loadtest.slo.minThroughput", 0);
+        sloMaxErrorRate = doubleProperty("loadtest.slo.maxErrorRate", 0.01);
+    }
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings();
+    }
+
+    private static Map<LoadOperation, Integer> parseMix(String mix) {
+        Map<LoadOperation, Integer> weights = new EnumMap<>(LoadOperation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid loadtest.mix entry: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(LoadOperation.valueOf(parts[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix must give at least one operation a positive weight");
+        }
+        return weights;
+    }
+
+    private static List<String> parseThreadModes(String threadModes) {
+        List<String> modes = new ArrayList<>();
+        for (String mode : threadModes.split(",")) {
+            String trimmedMode = mode.trim();
+            if (!PLATFORM_THREADS.equals(trimmedMode) && !VIRTUAL_THREADS.equals(trimmedMode)) {
+                throw new IllegalArgumentException("Unknown loadtest.threadModes entry: " + mode);
+            }
+            modes.add(trimmedMode);
+        }
+        return modes;
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+
+    Duration getWarmup() {
+        return warmup;
+    }
+
+    Duration getDuration() {
+        return duration;
+    }
+
+    int getConcurrency() {
+        return concurrency;
+    }
+
+    int getRatePerSecond() {
+        return ratePerSecond;
+    }
+
+    int getSeedEmployees() {
+        return seedEmployees;
+    }
+
+    int getSeedCompanies() {
+        return seedCompanies;
+    }
+
+    Map<LoadOperation, Integer> getMix() {
+        return mix;
+    }
+
+    List<String> getThreadModes() {
+        return threadModes;
+    }
+
+    boolean isPersistence() {
+        return persistence;
+    }
+
+    double getSloP99Millis() {
+        return sloP99Millis;
+    }
+
+    double getSloP999Millis() {
+        return sloP999Millis;
+    }
+
+    double getSloMinThroughput() {
+        return sloMinThroughput;
+    }
+
+    double getSloMaxErrorRate() {
+        return sloMaxErrorRate;
+    }
+}
@@ -0,0 +1,69 @@
+package com.thoughtworks.springbootemployee.changes;
+
+import com.thoughtworks.springbootemployee.model.ChangeEvent;
+import com.thoughtworks.springbootemployee.model.ChangeType;
+import com.thoughtworks.springbootemployee.repository.EntityStoreListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Turns the versions published by one store into change events: an insert is a creation, a write
+ * that makes the entity inactive is a (soft) deletion and anything else an update.
+ * <p>
+ * Events are numbered as the writing thread publishes them and handed to the log when that thread
+ * commits, once per write or once per batch. This listener has to be the last one of its store, so
+ * that a write it numbered cannot fail afterwards.
+ */
+class ChangeCapture<T> implements EntityStoreListener<T> {
+
+    private final ChangeLog changeLog;
+    private final String entity;
+    private final Function<T, Long> idExtractor;
+    private final Function<T, Long> versionExtractor;
+    private final Predicate<T> inactive;
+    private final UnaryOperator<T> copier;
+    private final ThreadLocal<List<ChangeEvent>> pending = ThreadLocal.withInitial(ArrayList::new);
+
+    ChangeCapture(ChangeLog changeLog, String entity, Function<T, Long> idExtractor,
+                  Function<T, Long> versionExtractor, Predicate<T> inactive, UnaryOperator<T> copier) {
+        this.changeLog = changeLog;
+        this.entity = entity;
+        this.idExtractor = idExtractor;
+        this.versionExtractor = versionExtractor;
+        this.inactive = inactive;
+        this.copier = copier;
+    }
+
+    @Override
+    public void published(T previous, T current) {
+        pending.get().add(changeLog.record(entity, typeOf(previous, current), idExtractor.apply(current),
+                versionExtractor.apply(current), copier.apply(current)));
+    }
+
+    @Override
+    public void committed() {
+        List<ChangeEvent> committed = pending.get();
+        pending.remove();
+        if (!committed.isEmpty()) {
+            changeLog.append(committed);
+        }
+    }
+
+    @Override
+    public void cleared() {
+    }
+
+    private ChangeType typeOf(T previous, T current) {
+        if (previous == null) {
+            return ChangeType.CREATED;
+        }
+        if (!inactive.test(previous) && inactive.test(current)) {
+            return ChangeType.DELETED;
+        }
+        return ChangeType.UPDATED;
+    }
+}
@@ -0,0 +1,190 @@
+package com.thoughtworks.springbootemployee.changes;
+
+import com.thoughtworks.springbootemployee.exception.ChangeFeedExpiredException;
+import com.thoughtworks.springbootemployee.model.ChangeEvent;
+import com.thoughtworks.springbootemployee.model.ChangeFeedPage;
+import com.thoughtworks.springbootemployee.model.ChangeType;
+import com.thoughtworks.springbootemployee.repository.ConcurrentEntityStore;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * In-process change data capture: the writes of the attached stores, numbered by one monotonic
+ * sequence and kept in a bounded ring buffer. Consumers read the events after the last sequence they
+ * saw; once the ring has overwritten that position they have to resync from the listings.
+ * <p>
+ * Events are numbered while the store still holds the lock stripe of the written id, so the events
+ * of one entity are in version order. They only become readable once the write has committed, after
+ * the stripe is released and the journal made it durable. Waiting consumers are released on a
+ * separate thread, never on the writer's. Sequences restart with the process.
+ */
+@Component
+@EnableConfigurationProperties(ChangeLogProperties.class)
+public class ChangeLog implements DisposableBean {
+
+    public static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final ChangeEvent[] events;
+    private final int mask;
+    private final ExecutorService notifier = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "change-notifier");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicLong assignedSequence = new AtomicLong();
+    private long lastSequence;
+    private final Set<CompletableFuture<Void>> waiters = new HashSet<>();
+
+    @Autowired
+    public ChangeLog(ChangeLogProperties properties) {
+        this(properties.getCapacity());
+    }
+
+    public ChangeLog(int capacity) {
+        int size = capacity <= 1 ? 1 : Integer.highestOneBit(Math.min(capacity, MAX_CAPACITY) - 1) << 1;
+        this.events = new ChangeEvent[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Captures the writes {@code store} publishes from now on. Entities already in the store are not
+     * replayed.
+     */
+    public <T> void attach(String entity, ConcurrentEntityStore<T> store, Function<T, Long> idExtractor,
+                           Function<T, Long> versionExtractor, Predicate<T> inactive, UnaryOperator<T> copier) {
+        store.addListener(new ChangeCapture<>(this, entity, idExtractor, versionExtractor, inactive, copier));
+    }
+
+    public long getLastSequence() {
+        lock.lock();
+        try {
+            return lastSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return up to {@code limit} events with a sequence above {@code since}, in sequence order
+     * @throws ChangeFeedExpiredException when events after {@code since} were already overwritten, or
+     *                                    {@code since} lies ahead of the log because it restarted
+     */
+    public ChangeFeedPage readAfter(long since, int limit) {
+        lock.lock();
+        try {
+            if (since < Math.max(0, lastSequence - events.length) || since > lastSequence) {
+                throw new ChangeFeedExpiredException(since);
+            }
+            int count = (int) Math.min(Math.max(1, Math.min(limit, MAX_PAGE_SIZE)), lastSequence - since);
+            List<ChangeEvent> changes = new ArrayList<>(count);
+            for (long sequence = since + 1; sequence <= since + count; sequence++) {
+                ChangeEvent event = events[(int) (sequence & mask)];
+                if (event == null || event.getSequence() != sequence) {
+                    throw new ChangeFeedExpiredException(since);
+                }
+                changes.add(event);
+            }
+            return new ChangeFeedPage(changes, since + count);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return a future completing once an event after {@code since} is available. A consumer that stops
+     * waiting must cancel it, which drops it from the log without affecting other waiters.
+     */
+    public CompletableFuture<Void> awaitAfter(long since) {
+        lock.lock();
+        try {
+            if (lastSequence > since) {
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<Void> waiter = new CompletableFuture<>();
+            waiters.add(waiter);
+            waiter.whenComplete((ignored, failure) -> release(waiter));
+            return waiter;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getWaiterCount() {
+        lock.lock();
+        try {
+            return waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Numbers a write. Called while the store holds the lock stripe of the written id, so the writes
+     * of one entity are numbered in version order; takes no lock.
+     */
+    ChangeEvent record(String entity, ChangeType type, Long id, Long version, Object data) {
+        return new ChangeEvent(assignedSequence.incrementAndGet(), entity, type, id, version, data);
+    }
+
+    /**
+     * Makes committed events readable. Writers commit in any order, so the readable sequence only
+     * moves over a contiguous run of committed events and an event waits for every earlier one.
+     */
+    void append(List<ChangeEvent> committed) {
+        lock.lock();
+        try {
+            for (ChangeEvent event : committed) {
+                events[(int) (event.getSequence() & mask)] = event;
+            }
+            long readable = lastSequence;
+            while (true) {
+                ChangeEvent next = events[(int) ((readable + 1) & mask)];
+                if (next == null || next.getSequence() != readable + 1) {
+                    break;
+                }
+                readable++;
+            }
+            if (readable > lastSequence) {
+                lastSequence = readable;
+                if (!waiters.isEmpty()) {
+                    List<CompletableFuture<Void>> reached = new ArrayList<>(waiters);
+                    waiters.clear();
+                    notifier.execute(() -> reached.forEach(waiter -> waiter.complete(null)));
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(CompletableFuture<Void> waiter) {
+        lock.lock();
+        try {
+            waiters.remove(waiter);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        notifier.shutdown();
+    }
+}
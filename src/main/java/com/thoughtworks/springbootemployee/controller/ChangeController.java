@@ -0,0 +1,71 @@
+package com.thoughtworks.springbootemployee.controller;
+
+import com.thoughtworks.springbootemployee.changes.ChangeLog;
+import com.thoughtworks.springbootemployee.changes.ChangeLogProperties;
+import com.thoughtworks.springbootemployee.exception.ChangeFeedExpiredException;
+import com.thoughtworks.springbootemployee.model.ChangeFeedPage;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/changes")
+public class ChangeController {
+
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private final ChangeLog changeLog;
+    private final ChangeStreamWriter changeStreamWriter;
+    private final long pollTimeoutMillis;
+
+    public ChangeController(ChangeLog changeLog, ChangeStreamWriter changeStreamWriter, ChangeLogProperties properties) {
+        this.changeLog = changeLog;
+        this.changeStreamWriter = changeStreamWriter;
+        this.pollTimeoutMillis = properties.getPollTimeout().toMillis();
+    }
+
+    @GetMapping
+    public DeferredResult<ChangeFeedPage> pollChanges(@RequestParam(required = false) Long since,
+                                                      @RequestParam(defaultValue = "100") Integer limit) {
+        if (since == null) {
+            DeferredResult<ChangeFeedPage> result = new DeferredResult<>();
+            result.setResult(new ChangeFeedPage(List.of(), changeLog.getLastSequence()));
+            return result;
+        }
+        DeferredResult<ChangeFeedPage> result = new DeferredResult<>(pollTimeoutMillis,
+                () -> changeLog.readAfter(since, limit));
+        ChangeFeedPage page = changeLog.readAfter(since, limit);
+        if (!page.getChanges().isEmpty()) {
+            result.setResult(page);
+            return result;
+        }
+        CompletableFuture<Void> waiter = changeLog.awaitAfter(since);
+        result.onCompletion(() -> waiter.cancel(false));
+        waiter.thenRun(() -> {
+            if (result.isSetOrExpired()) {
+                return;
+            }
+            try {
+                result.setResult(changeLog.readAfter(since, limit));
+            } catch (ChangeFeedExpiredException exception) {
+                result.setErrorResult(exception);
+            }
+        });
+        return result;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(required = false) Long since,
+                                    @RequestHeader(value = LAST_EVENT_ID, required = false) Long lastEventId) {
+        if (since != null) {
+            return changeStreamWriter.write(since);
+        }
+        return changeStreamWriter.write(lastEventId != null ? lastEventId : changeLog.getLastSequence());
+    }
+}
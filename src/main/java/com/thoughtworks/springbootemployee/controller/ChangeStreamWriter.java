@@ -0,0 +1,114 @@
+package com.thoughtworks.springbootemployee.controller;
+
+import com.thoughtworks.springbootemployee.changes.ChangeLog;
+import com.thoughtworks.springbootemployee.changes.ChangeLogProperties;
+import com.thoughtworks.springbootemployee.exception.ChangeFeedExpiredException;
+import com.thoughtworks.springbootemployee.model.ChangeEvent;
+import com.thoughtworks.springbootemployee.model.ChangeFeedPage;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streams the change log as server-sent events. A stream sends what the log holds in pages on a
+ * small shared pool, then parks on the log until the next append, so idle subscribers hold no thread.
+ */
+@Component
+@Profile("!reactive")
+public class ChangeStreamWriter implements DisposableBean {
+
+    private final ChangeLog changeLog;
+    private final long timeoutMillis;
+    private final ExecutorService senders;
+
+    public ChangeStreamWriter(ChangeLog changeLog, ChangeLogProperties properties) {
+        this.changeLog = changeLog;
+        this.timeoutMillis = properties.getStreamTimeout().toMillis();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(properties.getStreamThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "change-stream-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @throws ChangeFeedExpiredException before the stream starts when events after {@code since} are gone
+     */
+    public SseEmitter write(long since) {
+        ChangeFeedPage firstPage = changeLog.readAfter(since, ChangeLog.MAX_PAGE_SIZE);
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        ChangeStream stream = new ChangeStream(emitter);
+        emitter.onCompletion(stream::close);
+        emitter.onTimeout(stream::close);
+        emitter.onError(exception -> stream.close());
+        senders.execute(() -> stream.send(firstPage));
+        return emitter;
+    }
+
+    @Override
+    public void destroy() {
+        senders.shutdownNow();
+    }
+
+    private class ChangeStream {
+
+        private final SseEmitter emitter;
+        private volatile boolean closed;
+        private volatile CompletableFuture<Void> waiter;
+
+        ChangeStream(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void send(ChangeFeedPage page) {
+            try {
+                for (ChangeEvent event : page.getChanges()) {
+                    emitter.send(SseEmitter.event()
+                            .id(Long.toString(event.getSequence()))
+                            .name(event.getType().name())
+                            .data(event));
+                }
+            } catch (IOException exception) {
+                close();
+                emitter.completeWithError(exception);
+                return;
+            }
+            if (!closed) {
+                long since = page.getNextSince();
+                waiter = changeLog.awaitAfter(since);
+                waiter.thenRunAsync(() -> sendAfter(since), senders);
+                if (closed) {
+                    waiter.cancel(false);
+                }
+            }
+        }
+
+        void sendAfter(long since) {
+            if (closed) {
+                return;
+            }
+            try {
+                send(changeLog.readAfter(since, ChangeLog.MAX_PAGE_SIZE));
+            } catch (ChangeFeedExpiredException exception) {
+                close();
+                emitter.completeWithError(exception);
+            }
+        }
+
+        void close() {
+            closed = true;
+            CompletableFuture<Void> pending = waiter;
+            if (pending != null) {
+                pending.cancel(false);
+            }
+        }
+    }
+}
@@ -1,31 +1,67 @@
 package com.thoughtworks.springbootemployee.controller;
 
+import com.thoughtworks.springbootemployee.model.BatchItemResult;
+import com.thoughtworks.springbootemployee.model.CascadeJob;
 import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.CompanyWithEmployees;
+import com.thoughtworks.springbootemployee.model.CursorPage;
 import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.model.PayrollStats;
 import com.thoughtworks.springbootemployee.service.CompanyService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
 import java.util.List;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/companies")
 public class CompanyController {
 
     private final CompanyService companyService;
+    private final NdjsonResponseWriter ndjsonResponseWriter;
 
-    public CompanyController(CompanyService companyService) {
+    public CompanyController(CompanyService companyService, NdjsonResponseWriter ndjsonResponseWriter) {
         this.companyService = companyService;
+        this.ndjsonResponseWriter = ndjsonResponseWriter;
     }
 
     @GetMapping
-    public List<Company> listAllCompanies() {
+    public List<Company> listAllCompanies(WebRequest request, HttpServletResponse response,
+                                          @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        if (request.checkNotModified(EntityTags.ofCollection(companyService.getCollectionVersion(), accept))) {
+            return null;
+        }
         return companyService.getAll();
     }
 
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody streamAllCompanies() {
+        return ndjsonResponseWriter.write(companyService::streamAll);
+    }
+
+    @GetMapping(params = {"include=employees"})
+    public List<CompanyWithEmployees> listAllCompaniesWithEmployees() {
+        return companyService.getAllWithEmployees();
+    }
+
     @GetMapping("/{id}")
-    public Company findByCompanyId(@PathVariable Long id) {
-        return companyService.findById(id);
+    public ResponseEntity<Company> findByCompanyId(@PathVariable Long id,
+                                                   @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        Company company = companyService.findById(id);
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(company.getVersion(), accept))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(company);
     }
 
     @GetMapping("/{id}/employees")
@@ -33,20 +69,51 @@ public class CompanyController {
         return companyService.findEmployeesByCompanyId(id);
     }
 
+    @GetMapping("/jobs/{jobId}")
+    public CascadeJob getCascadeJob(@PathVariable Long jobId) {
+        return companyService.findCascadeJob(jobId);
+    }
+
+    @GetMapping("/{id}/stats")
+    public PayrollStats getStats(@PathVariable Long id) {
+        return companyService.getStats(id);
+    }
+
     @GetMapping(params = {"pageNumber", "pageSize"})
     public List<Company> getCompaniesByPage(@RequestParam Long pageNumber, @RequestParam Long pageSize) {
         return companyService.getCompaniesByPage(pageNumber, pageSize);
     }
 
+    @GetMapping(params = {"limit"})
+    public CursorPage<Company> getCompaniesAfter(@RequestParam(required = false) Long after, @RequestParam Integer limit) {
+        return companyService.getCompaniesAfter(after, limit);
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public Company addCompany(@RequestBody Company company) {
         return companyService.create(company);
     }
 
+    @PostMapping("/batch")
+    public List<BatchItemResult<Company>> addCompanies(@RequestBody List<Company> companies) {
+        return companyService.createAll(companies);
+    }
+
+    @PutMapping("/batch")
+    public List<BatchItemResult<Company>> updateCompanies(@RequestBody List<Company> newCompaniesInfo) {
+        return companyService.updateAll(newCompaniesInfo);
+    }
+
     @PutMapping("/{id}")
-    public Company updateCompany(@PathVariable Long id, @RequestBody Company newCompanyInfo) {
-        return companyService.update(id, newCompanyInfo);
+    public ResponseEntity<Company> updateCompany(@PathVariable Long id, @RequestBody Company newCompanyInfo,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                 @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        Company updatedCompany = companyService.update(id, newCompanyInfo, EntityTags.expectedVersion(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(updatedCompany.getVersion(), accept))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(updatedCompany);
     }
 
     @DeleteMapping("/{id}")
@@ -54,4 +121,10 @@ public class CompanyController {
     public void deleteCompany(@PathVariable Long id) {
         companyService.delete(id);
     }
+
+    @DeleteMapping(value = "/{id}", params = {"cascade=employees"})
+    public ResponseEntity<CascadeJob> deleteCompanyWithEmployees(@PathVariable Long id) {
+        CascadeJob job = companyService.deleteWithEmployees(id);
+        return ResponseEntity.accepted().location(URI.create("/companies/jobs/" + job.getId())).body(job);
+    }
 }
@@ -1,30 +1,81 @@
 package com.thoughtworks.springbootemployee.controller;
 
+import com.thoughtworks.springbootemployee.model.BatchItemResult;
+import com.thoughtworks.springbootemployee.model.CursorPage;
 import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.model.PayrollStats;
 import com.thoughtworks.springbootemployee.service.EmployeeService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/employees")
 public class EmployeeController {
 
     private final EmployeeService employeeService;
+    private final NdjsonResponseWriter ndjsonResponseWriter;
 
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, NdjsonResponseWriter ndjsonResponseWriter) {
         this.employeeService = employeeService;
+        this.ndjsonResponseWriter = ndjsonResponseWriter;
     }
 
     @GetMapping
-    public List<Employee> listAllEmployees() {
+    public List<Employee> listAllEmployees(WebRequest request, HttpServletResponse response,
+                                           @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        if (request.checkNotModified(EntityTags.ofCollection(employeeService.getCollectionVersion(), accept))) {
+            return null;
+        }
         return employeeService.getAll();
     }
 
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody streamAllEmployees() {
+        return ndjsonResponseWriter.write(employeeService::streamAll);
+    }
+
     @GetMapping("/{id}")
-    public Employee findEmployeeById(@PathVariable Long id) {
-        return employeeService.findById(id);
+    public ResponseEntity<Employee> findEmployeeById(@PathVariable Long id,
+                                                     @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        Employee employee = employeeService.findById(id);
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(employee.getVersion(), accept))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(employee);
+    }
+
+    @GetMapping("/query")
+    public List<Employee> queryEmployees(@RequestParam String q) {
+        return employeeService.query(q);
+    }
+
+    @GetMapping("/sorted")
+    public List<Employee> listSorted(@RequestParam String by, @RequestParam(defaultValue = "asc") String order,
+                                     @RequestParam(defaultValue = "100") Integer limit) {
+        return employeeService.getSortedBy(by, order, limit);
+    }
+
+    @GetMapping("/range")
+    public List<Employee> listInRange(@RequestParam String by, @RequestParam(required = false) Integer min,
+                                      @RequestParam(required = false) Integer max,
+                                      @RequestParam(required = false) Integer limit) {
+        return employeeService.getInRange(by, min, max, limit);
+    }
+
+    @GetMapping("/stats")
+    public PayrollStats getStats(@RequestParam(required = false) String gender) {
+        return employeeService.getStats(gender);
     }
 
     @GetMapping(params = {"gender"})
@@ -38,9 +89,25 @@ public class EmployeeController {
         return employeeService.create(employee);
     }
 
+    @PostMapping("/batch")
+    public List<BatchItemResult<Employee>> addEmployees(@RequestBody List<Employee> employees) {
+        return employeeService.createAll(employees);
+    }
+
+    @PutMapping("/batch")
+    public List<BatchItemResult<Employee>> updateEmployees(@RequestBody List<Employee> newEmployeesInfo) {
+        return employeeService.updateAll(newEmployeesInfo);
+    }
+
     @PutMapping("/{id}")
-    public Employee updateEmployee(@PathVariable Long id, @RequestBody Employee newEmployeeInfo) {
-        return employeeService.update(id, newEmployeeInfo);
+    public ResponseEntity<Employee> updateEmployee(@PathVariable Long id, @RequestBody Employee newEmployeeInfo,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                   @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        Employee updatedEmployee = employeeService.update(id, newEmployeeInfo, EntityTags.expectedVersion(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(updatedEmployee.getVersion(), accept))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(updatedEmployee);
     }
 
     @GetMapping(params = {"pageNumber", "pageSize"})
@@ -48,6 +115,11 @@ public class EmployeeController {
         return employeeService.getEmployeesByPage(pageNumber, pageSize);
     }
 
+    @GetMapping(params = {"limit"})
+    public CursorPage<Employee> listAfter(@RequestParam(required = false) Long after, @RequestParam Integer limit) {
+        return employeeService.getEmployeesAfter(after, limit);
+    }
+
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deleteEmployee(@PathVariable Long id) {
@@ -0,0 +1,76 @@
+package com.thoughtworks.springbootemployee.controller;
+
+import com.thoughtworks.springbootemployee.exception.VersionConflictException;
+
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Entity tags of the versioned resources: an entity is tagged with its version and a listing with
+ * the write count of its store. Conditional updates accept {@code *} or a single strong tag.
+ * <p>
+ * Every resource is served as JSON, Smile, CBOR or Protobuf, so tags carry a short digest of the
+ * {@code Accept} header and responses vary on it; a tag never validates another encoding. Write
+ * counts restart with the process, and so do versions unless the stores are persisted, so every tag
+ * also carries an epoch drawn at startup and a tag from before a restart never matches.
+ */
+final class EntityTags {
+
+    private static final String ANY = "*";
+    private static final String QUOTE = "\"";
+    private static final String EPOCH_SEPARATOR = ".";
+    private static final char REPRESENTATION_SEPARATOR = '-';
+    private static final String EPOCH = Long.toHexString(UUID.randomUUID().getMostSignificantBits());
+
+    private EntityTags() {
+    }
+
+    static String of(Long version, String accept) {
+        return of(EPOCH, version, accept);
+    }
+
+    static String of(String epoch, Long version, String accept) {
+        return QUOTE + epoch + EPOCH_SEPARATOR + version + representation(accept) + QUOTE;
+    }
+
+    static String ofCollection(long writeCount, String accept) {
+        return QUOTE + EPOCH + EPOCH_SEPARATOR + writeCount + representation(accept) + QUOTE;
+    }
+
+    /**
+     * @return the version an {@code If-Match} header requires, or {@code null} when any version will do
+     * @throws VersionConflictException when the header is no tag of this process
+     */
+    static Long expectedVersion(String ifMatch) {
+        return expectedVersion(EPOCH, ifMatch);
+    }
+
+    static Long expectedVersion(String epoch, String ifMatch) {
+        if (ifMatch == null || ANY.equals(ifMatch.trim())) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || !tag.startsWith(QUOTE) || !tag.endsWith(QUOTE)) {
+            throw new VersionConflictException();
+        }
+        String value = tag.substring(1, tag.length() - 1);
+        String prefix = epoch + EPOCH_SEPARATOR;
+        if (!value.startsWith(prefix)) {
+            throw new VersionConflictException();
+        }
+        int separator = value.indexOf(REPRESENTATION_SEPARATOR);
+        try {
+            return Long.valueOf(separator < 0 ? value.substring(prefix.length())
+                    : value.substring(prefix.length(), separator));
+        } catch (NumberFormatException exception) {
+            throw new VersionConflictException();
+        }
+    }
+
+    private static String representation(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return "";
+        }
+        return REPRESENTATION_SEPARATOR + Integer.toHexString(accept.trim().toLowerCase(Locale.ROOT).hashCode());
+    }
+}
@@ -0,0 +1,52 @@
+package com.thoughtworks.springbootemployee.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes rows as newline-delimited JSON while they are pulled from the repository, so a full-table
+ * listing never has to be buffered as one {@code List} before the first byte goes out.
+ */
+@Component
+@Profile("!reactive")
+public class NdjsonResponseWriter {
+
+    private static final int ROWS_PER_FLUSH = 1000;
+    private static final char ROW_SEPARATOR = '\n';
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter rowWriter;
+
+    public NdjsonResponseWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public <T> StreamingResponseBody write(Supplier<Stream<T>> rows) {
+        return outputStream -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+            try (Stream<T> stream = rows.get()) {
+                Iterator<T> iterator = stream.iterator();
+                int rowsSinceFlush = 0;
+                while (iterator.hasNext()) {
+                    rowWriter.writeValue(generator, iterator.next());
+                    generator.writeRaw(ROW_SEPARATOR);
+                    if (++rowsSinceFlush == ROWS_PER_FLUSH) {
+                        generator.flush();
+                        rowsSinceFlush = 0;
+                    }
+                }
+            }
+            generator.flush();
+        };
+    }
+}
@@ -0,0 +1,68 @@
+package com.thoughtworks.springbootemployee.controller;
+
+import com.thoughtworks.springbootemployee.changes.ChangeLog;
+import com.thoughtworks.springbootemployee.changes.ChangeLogProperties;
+import com.thoughtworks.springbootemployee.model.ChangeEvent;
+import com.thoughtworks.springbootemployee.model.ChangeFeedPage;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/changes")
+public class ReactiveChangeController {
+
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private final ChangeLog changeLog;
+    private final Duration pollTimeout;
+
+    public ReactiveChangeController(ChangeLog changeLog, ChangeLogProperties properties) {
+        this.changeLog = changeLog;
+        this.pollTimeout = properties.getPollTimeout();
+    }
+
+    @GetMapping
+    public Mono<ChangeFeedPage> pollChanges(@RequestParam(required = false) Long since,
+                                            @RequestParam(defaultValue = "100") Integer limit) {
+        if (since == null) {
+            return Mono.fromCallable(() -> new ChangeFeedPage(List.of(), changeLog.getLastSequence()));
+        }
+        return readAfter(since, limit)
+                .flatMap(page -> page.getChanges().isEmpty()
+                        ? awaitAfter(since, limit).timeout(pollTimeout, readAfter(since, limit))
+                        : Mono.just(page));
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<ChangeEvent>> streamChanges(@RequestParam(required = false) Long since,
+                                                            @RequestHeader(value = LAST_EVENT_ID, required = false) Long lastEventId) {
+        return Mono.fromCallable(() -> since != null ? since
+                        : lastEventId != null ? lastEventId : changeLog.getLastSequence())
+                .flatMapMany(start -> readAfter(start, ChangeLog.MAX_PAGE_SIZE)
+                        .expand(page -> awaitAfter(page.getNextSince(), ChangeLog.MAX_PAGE_SIZE)))
+                .flatMapIterable(ChangeFeedPage::getChanges)
+                .map(event -> ServerSentEvent.builder(event)
+                        .id(Long.toString(event.getSequence()))
+                        .event(event.getType().name())
+                        .build());
+    }
+
+    private Mono<ChangeFeedPage> readAfter(long since, int limit) {
+        return Mono.fromCallable(() -> changeLog.readAfter(since, limit));
+    }
+
+    private Mono<ChangeFeedPage> awaitAfter(long since, int limit) {
+        return Mono.fromFuture(() -> changeLog.awaitAfter(since))
+                .publishOn(Schedulers.parallel())
+                .then(readAfter(since, limit));
+    }
+}
@@ -0,0 +1,108 @@
+package com.thoughtworks.springbootemployee.controller;
+
+import com.thoughtworks.springbootemployee.model.CascadeJob;
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.CompanyWithEmployees;
+import com.thoughtworks.springbootemployee.model.CursorPage;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.model.PayrollStats;
+import com.thoughtworks.springbootemployee.service.ReactiveCompanyService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/companies")
+public class ReactiveCompanyController {
+
+    private final ReactiveCompanyService companyService;
+
+    public ReactiveCompanyController(ReactiveCompanyService companyService) {
+        this.companyService = companyService;
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<Company>>> listAllCompanies(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return companyService.getCollectionVersion()
+                .map(version -> ResponseEntity.ok()
+                        .eTag(EntityTags.ofCollection(version, accept))
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .body(companyService.getAll()));
+    }
+
+    @GetMapping(params = {"include=employees"})
+    public Flux<CompanyWithEmployees> listAllCompaniesWithEmployees() {
+        return companyService.getAllWithEmployees();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Company>> findByCompanyId(@PathVariable Long id,
+                                                         @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return companyService.findById(id)
+                .map(company -> ResponseEntity.ok()
+                        .eTag(EntityTags.of(company.getVersion(), accept))
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .body(company));
+    }
+
+    @GetMapping("/{id}/employees")
+    public Flux<Employee> getEmployeesByCompanyId(@PathVariable Long id) {
+        return companyService.findEmployeesByCompanyId(id);
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public Mono<CascadeJob> getCascadeJob(@PathVariable Long jobId) {
+        return companyService.findCascadeJob(jobId);
+    }
+
+    @GetMapping("/{id}/stats")
+    public Mono<PayrollStats> getStats(@PathVariable Long id) {
+        return companyService.getStats(id);
+    }
+
+    @GetMapping(params = {"pageNumber", "pageSize"})
+    public Flux<Company> getCompaniesByPage(@RequestParam Long pageNumber, @RequestParam Long pageSize) {
+        return companyService.getCompaniesByPage(pageNumber, pageSize);
+    }
+
+    @GetMapping(params = {"limit"})
+    public Mono<CursorPage<Company>> getCompaniesAfter(@RequestParam(required = false) Long after, @RequestParam Integer limit) {
+        return companyService.getCompaniesAfter(after, limit);
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<Company> addCompany(@RequestBody Company company) {
+        return companyService.create(company);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Company>> updateCompany(@PathVariable Long id, @RequestBody Company newCompanyInfo,
+                                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                       @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return companyService.update(id, newCompanyInfo, EntityTags.expectedVersion(ifMatch))
+                .map(company -> ResponseEntity.ok()
+                        .eTag(EntityTags.of(company.getVersion(), accept))
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .body(company));
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> deleteCompany(@PathVariable Long id) {
+        return companyService.delete(id);
+    }
+
+    @DeleteMapping(value = "/{id}", params = {"cascade=employees"})
+    public Mono<ResponseEntity<CascadeJob>> deleteCompanyWithEmployees(@PathVariable Long id) {
+        return companyService.deleteWithEmployees(id)
+                .map(job -> ResponseEntity.accepted().location(URI.create("/companies/jobs/" + job.getId())).body(job));
+    }
+}
@@ -0,0 +1,105 @@
+package com.thoughtworks.springbootemployee.controller;
+
+import com.thoughtworks.springbootemployee.model.CursorPage;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.model.PayrollStats;
+import com.thoughtworks.springbootemployee.service.ReactiveEmployeeService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/employees")
+public class ReactiveEmployeeController {
+
+    private final ReactiveEmployeeService employeeService;
+
+    public ReactiveEmployeeController(ReactiveEmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<Employee>>> listAllEmployees(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return employeeService.getCollectionVersion()
+                .map(version -> ResponseEntity.ok()
+                        .eTag(EntityTags.ofCollection(version, accept))
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .body(employeeService.getAll()));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Employee>> findEmployeeById(@PathVariable Long id,
+                                                           @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return employeeService.findById(id)
+                .map(employee -> ResponseEntity.ok()
+                        .eTag(EntityTags.of(employee.getVersion(), accept))
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .body(employee));
+    }
+
+    @GetMapping("/query")
+    public Flux<Employee> queryEmployees(@RequestParam String q) {
+        return employeeService.query(q);
+    }
+
+    @GetMapping("/sorted")
+    public Flux<Employee> listSorted(@RequestParam String by, @RequestParam(defaultValue = "asc") String order,
+                                     @RequestParam(defaultValue = "100") Integer limit) {
+        return employeeService.getSortedBy(by, order, limit);
+    }
+
+    @GetMapping("/range")
+    public Flux<Employee> listInRange(@RequestParam String by, @RequestParam(required = false) Integer min,
+                                      @RequestParam(required = false) Integer max,
+                                      @RequestParam(required = false) Integer limit) {
+        return employeeService.getInRange(by, min, max, limit);
+    }
+
+    @GetMapping("/stats")
+    public Mono<PayrollStats> getStats(@RequestParam(required = false) String gender) {
+        return employeeService.getStats(gender);
+    }
+
+    @GetMapping(params = {"gender"})
+    public Flux<Employee> findEmployeeByGender(@RequestParam String gender) {
+        return employeeService.findByGender(gender);
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<Employee> addEmployee(@RequestBody Employee employee) {
+        return employeeService.create(employee);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Employee>> updateEmployee(@PathVariable Long id, @RequestBody Employee newEmployeeInfo,
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                         @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return employeeService.update(id, newEmployeeInfo, EntityTags.expectedVersion(ifMatch))
+                .map(employee -> ResponseEntity.ok()
+                        .eTag(EntityTags.of(employee.getVersion(), accept))
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .body(employee));
+    }
+
+    @GetMapping(params = {"pageNumber", "pageSize"})
+    public Flux<Employee> listByPage(@RequestParam Long pageNumber, @RequestParam Long pageSize) {
+        return employeeService.getEmployeesByPage(pageNumber, pageSize);
+    }
+
+    @GetMapping(params = {"limit"})
+    public Mono<CursorPage<Employee>> listAfter(@RequestParam(required = false) Long after, @RequestParam Integer limit) {
+        return employeeService.getEmployeesAfter(after, limit);
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> deleteEmployee(@PathVariable Long id) {
+        return employeeService.delete(id);
+    }
+}
@@ -0,0 +1,11 @@
+package com.thoughtworks.springbootemployee.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class CascadeJobNotFoundException extends RuntimeException {
+    public CascadeJobNotFoundException() {
+        super("Cascade job not found");
+    }
+}
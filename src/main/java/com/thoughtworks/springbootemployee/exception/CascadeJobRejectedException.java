@@ -0,0 +1,11 @@
+package com.thoughtworks.springbootemployee.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class CascadeJobRejectedException extends RuntimeException {
+    public CascadeJobRejectedException() {
+        super("Too many cascade jobs queued, retry later");
+    }
+}
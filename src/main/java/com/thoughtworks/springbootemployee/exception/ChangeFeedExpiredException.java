@@ -0,0 +1,11 @@
+package com.thoughtworks.springbootemployee.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.GONE)
+public class ChangeFeedExpiredException extends RuntimeException {
+    public ChangeFeedExpiredException(long since) {
+        super("Changes since " + since + " are no longer available");
+    }
+}
@@ -0,0 +1,11 @@
+package com.thoughtworks.springbootemployee.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidPageLimitException extends RuntimeException {
+    public InvalidPageLimitException() {
+        super("Page limit must be at least 1");
+    }
+}
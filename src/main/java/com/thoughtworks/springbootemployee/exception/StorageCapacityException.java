@@ -0,0 +1,11 @@
+package com.thoughtworks.springbootemployee.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+public class StorageCapacityException extends RuntimeException {
+    public StorageCapacityException(String message) {
+        super("Storage capacity exceeded: " + message);
+    }
+}
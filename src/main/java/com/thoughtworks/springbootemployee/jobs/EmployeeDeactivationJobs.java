@@ -0,0 +1,174 @@
+package com.thoughtworks.springbootemployee.jobs;
+
+import com.thoughtworks.springbootemployee.exception.CascadeJobNotFoundException;
+import com.thoughtworks.springbootemployee.exception.CascadeJobRejectedException;
+import com.thoughtworks.springbootemployee.metrics.OperationTimer;
+import com.thoughtworks.springbootemployee.model.CascadeJob;
+import com.thoughtworks.springbootemployee.model.CascadeJobState;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import com.thoughtworks.springbootemployee.service.EmployeeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deactivates the employees of soft-deleted companies in the background. Jobs run on a small fixed
+ * pool behind a bounded queue and are refused once it is full. Each job walks the company's ids from
+ * the company index and deactivates them in batches, so other writers get the store between batches
+ * instead of waiting for the whole company.
+ * <p>
+ * A job slot is {@link #reserve() reserved} before the caller soft-deletes the company and only turns
+ * into a job afterwards, so a full queue refuses the request before anything has changed.
+ * <p>
+ * Finished jobs stay queryable until {@code retainedJobs} newer ones have been submitted. Job ids and
+ * states restart with the process.
+ */
+@Component
+@EnableConfigurationProperties(CascadeJobProperties.class)
+public class EmployeeDeactivationJobs implements DisposableBean {
+
+    private final EmployeeRepository employeeRepository;
+    private final Cache employeeCache;
+    private final int batchSize;
+    private final ThreadPoolExecutor workers;
+    private final Semaphore slots;
+    private final AtomicLong jobIds = new AtomicLong();
+    private final Map<Long, CascadeJob> jobs;
+    private final OperationTimer jobTimer;
+
+    @Autowired
+    public EmployeeDeactivationJobs(EmployeeRepository employeeRepository, CacheManager cacheManager,
+                                    CascadeJobProperties properties, MeterRegistry meterRegistry) {
+        this.employeeRepository = employeeRepository;
+        this.employeeCache = cacheManager.getCache(EmployeeService.EMPLOYEE_CACHE);
+        this.batchSize = Math.max(1, properties.getBatchSize());
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(), 0L,
+                TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()), runnable -> {
+            Thread thread = new Thread(runnable, "cascade-job-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.slots = new Semaphore(properties.getThreads() + properties.getQueueCapacity());
+        int retainedJobs = properties.getRetainedJobs();
+        this.jobs = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CascadeJob> eldest) {
+                return size() > retainedJobs;
+            }
+        };
+        this.jobTimer = new OperationTimer(meterRegistry, "job", "employees", "deactivate-company");
+    }
+
+    /**
+     * Claims room for one job, which the returned slot must either {@link Slot#submit submit} or
+     * {@link Slot#release release}.
+     *
+     * @throws CascadeJobRejectedException when every worker is busy and the queue is full
+     */
+    public Slot reserve() {
+        if (!slots.tryAcquire()) {
+            throw new CascadeJobRejectedException();
+        }
+        return new Slot();
+    }
+
+    public CascadeJob findById(Long jobId) {
+        CascadeJob job;
+        synchronized (jobs) {
+            job = jobs.get(jobId);
+        }
+        if (job == null) {
+            throw new CascadeJobNotFoundException();
+        }
+        return job;
+    }
+
+    private void run(CascadeJob job) {
+        long start = jobTimer.start();
+        job.setState(CascadeJobState.RUNNING);
+        try {
+            List<Long> employeeIds = employeeRepository.findEmployeeIdsByCompanyId(job.getCompanyId());
+            job.setTotalEmployees(employeeIds.size());
+            int deactivated = 0;
+            for (int from = 0; from < employeeIds.size(); from += batchSize) {
+                List<Long> deactivatedIds = employeeRepository.deactivateEmployees(
+                        employeeIds.subList(from, Math.min(from + batchSize, employeeIds.size())));
+                if (employeeCache != null) {
+                    deactivatedIds.forEach(employeeCache::evict);
+                }
+                deactivated += deactivatedIds.size();
+                job.setDeactivatedEmployees(deactivated);
+            }
+            job.setState(CascadeJobState.SUCCEEDED);
+        } catch (RuntimeException exception) {
+            jobTimer.failed();
+            job.setError(exception.getMessage());
+            job.setState(CascadeJobState.FAILED);
+        } finally {
+            jobTimer.stop(start);
+            slots.release();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        workers.shutdown();
+    }
+
+    /**
+     * Room for one job in the queue, held by a caller that has not submitted the job yet.
+     */
+    public final class Slot {
+
+        private final AtomicBoolean used = new AtomicBoolean();
+
+        private Slot() {
+        }
+
+        public CascadeJob submit(Long companyId) {
+            if (!used.compareAndSet(false, true)) {
+                throw new IllegalStateException("Cascade job slot already used");
+            }
+            CascadeJob job = new CascadeJob(jobIds.incrementAndGet(), companyId);
+            synchronized (jobs) {
+                jobs.put(job.getId(), job);
+            }
+            try {
+                workers.execute(() -> run(job));
+            } catch (RejectedExecutionException exception) {
+                synchronized (jobs) {
+                    jobs.remove(job.getId());
+                }
+                slots.release();
+                throw new CascadeJobRejectedException();
+            }
+            return job;
+        }
+
+        /**
+         * Gives the slot back unless it was submitted; safe to call more than once.
+         */
+        public void release() {
+            if (used.compareAndSet(false, true)) {
+                slots.release();
+            }
+        }
+    }
+}
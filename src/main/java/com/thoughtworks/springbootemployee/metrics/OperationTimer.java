@@ -0,0 +1,40 @@
+package com.thoughtworks.springbootemployee.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timer and failure counter of one repository or service operation. Both meters are registered up
+ * front, so recording a call is a clock read plus a few lock-free updates and allocates nothing.
+ */
+public class OperationTimer {
+
+    private final Timer timer;
+    private final Counter failures;
+
+    public OperationTimer(MeterRegistry registry, String layer, String entity, String operation) {
+        this.timer = Timer.builder(layer + ".operations")
+                .tag("entity", entity)
+                .tag("operation", operation)
+                .register(registry);
+        this.failures = Counter.builder(layer + ".operation.failures")
+                .tag("entity", entity)
+                .tag("operation", operation)
+                .register(registry);
+    }
+
+    public long start() {
+        return System.nanoTime();
+    }
+
+    public void stop(long startNanos) {
+        timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void failed() {
+        failures.increment();
+    }
+}
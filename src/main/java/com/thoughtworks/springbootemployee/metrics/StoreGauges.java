@@ -0,0 +1,27 @@
+package com.thoughtworks.springbootemployee.metrics;
+
+import com.thoughtworks.springbootemployee.repository.ActivityCounter;
+import com.thoughtworks.springbootemployee.repository.ConcurrentEntityStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+public final class StoreGauges {
+
+    private StoreGauges() {
+    }
+
+    public static void register(MeterRegistry registry, String entity, ConcurrentEntityStore<?> store,
+                                ActivityCounter<?> activityCounter) {
+        Gauge.builder("repository.size", store, ConcurrentEntityStore::size)
+                .tag("entity", entity)
+                .register(registry);
+        Gauge.builder("repository.entities", activityCounter, ActivityCounter::getActiveCount)
+                .tag("entity", entity)
+                .tag("state", "active")
+                .register(registry);
+        Gauge.builder("repository.entities", activityCounter, ActivityCounter::getInactiveCount)
+                .tag("entity", entity)
+                .tag("state", "inactive")
+                .register(registry);
+    }
+}
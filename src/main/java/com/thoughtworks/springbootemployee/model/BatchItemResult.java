@@ -0,0 +1,40 @@
+package com.thoughtworks.springbootemployee.model;
+
+public class BatchItemResult<T> {
+
+    private final int index;
+    private final int status;
+    private final T entity;
+    private final String error;
+
+    private BatchItemResult(int index, int status, T entity, String error) {
+        this.index = index;
+        this.status = status;
+        this.entity = entity;
+        this.error = error;
+    }
+
+    public static <T> BatchItemResult<T> succeeded(int index, int status, T entity) {
+        return new BatchItemResult<>(index, status, entity, null);
+    }
+
+    public static <T> BatchItemResult<T> failed(int index, int status, String error) {
+        return new BatchItemResult<>(index, status, null, error);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public T getEntity() {
+        return entity;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
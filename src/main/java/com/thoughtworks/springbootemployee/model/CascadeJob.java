@@ -0,0 +1,64 @@
+package com.thoughtworks.springbootemployee.model;
+
+/**
+ * Progress of deactivating the employees of a soft-deleted company. Written by the job thread and
+ * read by status requests, so every field is either final or volatile.
+ */
+public class CascadeJob {
+
+    private final long id;
+    private final Long companyId;
+    private volatile CascadeJobState state = CascadeJobState.QUEUED;
+    private volatile int totalEmployees;
+    private volatile int deactivatedEmployees;
+    private volatile String error;
+
+    public CascadeJob(long id, Long companyId) {
+        this.id = id;
+        this.companyId = companyId;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public Long getCompanyId() {
+        return companyId;
+    }
+
+    public CascadeJobState getState() {
+        return state;
+    }
+
+    public void setState(CascadeJobState state) {
+        this.state = state;
+    }
+
+    public int getTotalEmployees() {
+        return totalEmployees;
+    }
+
+    public void setTotalEmployees(int totalEmployees) {
+        this.totalEmployees = totalEmployees;
+    }
+
+    public int getDeactivatedEmployees() {
+        return deactivatedEmployees;
+    }
+
+    public void setDeactivatedEmployees(int deactivatedEmployees) {
+        this.deactivatedEmployees = deactivatedEmployees;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public boolean isFinished() {
+        return state == CascadeJobState.SUCCEEDED || state == CascadeJobState.FAILED;
+    }
+}
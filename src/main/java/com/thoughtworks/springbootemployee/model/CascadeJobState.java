@@ -0,0 +1,8 @@
+package com.thoughtworks.springbootemployee.model;
+
+public enum CascadeJobState {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
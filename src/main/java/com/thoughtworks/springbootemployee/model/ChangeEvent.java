@@ -0,0 +1,44 @@
+package com.thoughtworks.springbootemployee.model;
+
+public class ChangeEvent {
+
+    private final long sequence;
+    private final String entity;
+    private final ChangeType type;
+    private final Long id;
+    private final Long version;
+    private final Object data;
+
+    public ChangeEvent(long sequence, String entity, ChangeType type, Long id, Long version, Object data) {
+        this.sequence = sequence;
+        this.entity = entity;
+        this.type = type;
+        this.id = id;
+        this.version = version;
+        this.data = data;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public String getEntity() {
+        return entity;
+    }
+
+    public ChangeType getType() {
+        return type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public Object getData() {
+        return data;
+    }
+}
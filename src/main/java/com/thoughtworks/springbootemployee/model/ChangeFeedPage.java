@@ -0,0 +1,22 @@
+package com.thoughtworks.springbootemployee.model;
+
+import java.util.List;
+
+public class ChangeFeedPage {
+
+    private final List<ChangeEvent> changes;
+    private final long nextSince;
+
+    public ChangeFeedPage(List<ChangeEvent> changes, long nextSince) {
+        this.changes = changes;
+        this.nextSince = nextSince;
+    }
+
+    public List<ChangeEvent> getChanges() {
+        return changes;
+    }
+
+    public long getNextSince() {
+        return nextSince;
+    }
+}
@@ -0,0 +1,7 @@
+package com.thoughtworks.springbootemployee.model;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
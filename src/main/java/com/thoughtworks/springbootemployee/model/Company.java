@@ -2,9 +2,12 @@ package com.thoughtworks.springbootemployee.model;
 
 public class Company {
 
+    public static final long INITIAL_VERSION = 1L;
+
     private Long id;
     private String name;
     private Boolean active;
+    private Long version;
 
     public Company(Long id, String name) {
         this.id = id;
@@ -34,4 +37,23 @@ public class Company {
     public void setActive(Boolean active) {
         this.active = active;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public void incrementVersion() {
+        version = version == null ? INITIAL_VERSION : version + 1;
+    }
+
+    public Company copy() {
+        Company copy = new Company(id, name);
+        copy.setActive(active);
+        copy.setVersion(version);
+        return copy;
+    }
 }
@@ -0,0 +1,40 @@
+package com.thoughtworks.springbootemployee.model;
+
+import java.util.List;
+
+public class CompanyWithEmployees {
+
+    private final Long id;
+    private final String name;
+    private final Boolean active;
+    private final Long version;
+    private final List<Employee> employees;
+
+    public CompanyWithEmployees(Company company, List<Employee> employees) {
+        this.id = company.getId();
+        this.name = company.getName();
+        this.active = company.isActive();
+        this.version = company.getVersion();
+        this.employees = employees;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Boolean isActive() {
+        return active;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public List<Employee> getEmployees() {
+        return employees;
+    }
+}
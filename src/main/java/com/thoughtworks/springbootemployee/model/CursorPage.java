@@ -0,0 +1,22 @@
+package com.thoughtworks.springbootemployee.model;
+
+import java.util.List;
+
+public class CursorPage<T> {
+
+    private final List<T> items;
+    private final Long nextCursor;
+
+    public CursorPage(List<T> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -4,6 +4,7 @@ public class Employee {
 
     public static final int MIN_VALID_AGE = 18;
     public static final int MAX_VALID_AGE = 65;
+    public static final long INITIAL_VERSION = 1L;
     private Long id;
     private String name;
     private Integer age;
@@ -11,6 +12,7 @@ public class Employee {
     private Integer salary;
     private Long companyId;
     private Boolean active;
+    private Long version;
 
     public Employee() {
 
@@ -77,6 +79,25 @@ public class Employee {
         this.active = active;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public void incrementVersion() {
+        version = version == null ? INITIAL_VERSION : version + 1;
+    }
+
+    public Employee copy() {
+        Employee copy = new Employee(id, name, age, gender, salary, companyId);
+        copy.setActive(active);
+        copy.setVersion(version);
+        return copy;
+    }
+
     public boolean hasInvalidAge() {
         return getAge() < MIN_VALID_AGE || getAge() > MAX_VALID_AGE;
     }
@@ -0,0 +1,47 @@
+package com.thoughtworks.springbootemployee.model;
+
+import java.util.Map;
+
+public class PayrollStats {
+
+    private final long headcount;
+    private final long totalSalary;
+    private final Double averageSalary;
+    private final Integer minSalary;
+    private final Integer maxSalary;
+    private final Map<String, Long> ageDistribution;
+
+    public PayrollStats(long headcount, long totalSalary, Double averageSalary, Integer minSalary, Integer maxSalary,
+                        Map<String, Long> ageDistribution) {
+        this.headcount = headcount;
+        this.totalSalary = totalSalary;
+        this.averageSalary = averageSalary;
+        this.minSalary = minSalary;
+        this.maxSalary = maxSalary;
+        this.ageDistribution = ageDistribution;
+    }
+
+    public long getHeadcount() {
+        return headcount;
+    }
+
+    public long getTotalSalary() {
+        return totalSalary;
+    }
+
+    public Double getAverageSalary() {
+        return averageSalary;
+    }
+
+    public Integer getMinSalary() {
+        return minSalary;
+    }
+
+    public Integer getMaxSalary() {
+        return maxSalary;
+    }
+
+    public Map<String, Long> getAgeDistribution() {
+        return ageDistribution;
+    }
+}
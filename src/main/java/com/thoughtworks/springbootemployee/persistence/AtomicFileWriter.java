@@ -0,0 +1,48 @@
+package com.thoughtworks.springbootemployee.persistence;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes a file next to its destination, fsyncs it and atomically moves it over the destination, so
+ * a crash while writing never leaves a partial file behind.
+ */
+final class AtomicFileWriter {
+
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private AtomicFileWriter() {
+    }
+
+    static void write(Path path, ContentWriter contentWriter) {
+        Path temporaryPath = path.resolveSibling(path.getFileName() + TEMPORARY_SUFFIX);
+        try (FileChannel channel = FileChannel.open(temporaryPath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            contentWriter.write(output);
+            output.flush();
+            channel.force(true);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        try {
+            Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    @FunctionalInterface
+    interface ContentWriter {
+
+        void write(DataOutputStream output) throws IOException;
+    }
+}
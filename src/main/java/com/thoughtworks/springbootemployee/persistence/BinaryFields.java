@@ -0,0 +1,58 @@
+package com.thoughtworks.springbootemployee.persistence;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Encodes the nullable boxed fields of the model classes with a one-byte presence marker.
+ */
+final class BinaryFields {
+
+    private BinaryFields() {
+    }
+
+    static void writeLong(DataOutput output, Long value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeLong(value);
+        }
+    }
+
+    static Long readLong(DataInput input) throws IOException {
+        return input.readBoolean() ? input.readLong() : null;
+    }
+
+    static void writeInt(DataOutput output, Integer value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeInt(value);
+        }
+    }
+
+    static Integer readInt(DataInput input) throws IOException {
+        return input.readBoolean() ? input.readInt() : null;
+    }
+
+    static void writeString(DataOutput output, String value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeUTF(value);
+        }
+    }
+
+    static String readString(DataInput input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+
+    static void writeBoolean(DataOutput output, Boolean value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeBoolean(value);
+        }
+    }
+
+    static Boolean readBoolean(DataInput input) throws IOException {
+        return input.readBoolean() ? input.readBoolean() : null;
+    }
+}
@@ -0,0 +1,261 @@
+package com.thoughtworks.springbootemployee.persistence;
+
+import com.thoughtworks.springbootemployee.model.Employee;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.RandomAccess;
+
+/**
+ * Employee snapshot laid out column by column: ids, ages, salaries, company ids, versions and active
+ * flags as fixed-width columns, genders and names as codes into string dictionaries.
+ * <p>
+ * Reading maps the file instead of parsing it, and a row is only decoded when it is accessed.
+ * Dictionary strings are decoded once and shared by every row using them. A single mapping is
+ * limited to 2 GB, roughly 60 million employees.
+ * <p>
+ * The mapping is not served to clients. Recovery still decodes every row into the store and every
+ * index and statistic is rebuilt from it before the repository takes traffic, so startup stays
+ * linear in the number of employees. The format only makes each row cheaper to restore than a
+ * parsed record.
+ */
+public class ColumnarEmployeeSnapshotFile implements SnapshotFile<Employee> {
+
+    public static final String FILE_NAME = "snapshot.columns";
+
+    private static final int MAGIC = 0x454D5043;
+    private static final int FORMAT_VERSION = 2;
+    private static final int HEADER_SIZE = Integer.BYTES * 5 + Long.BYTES;
+    private static final int NULL_INT = Integer.MIN_VALUE;
+    private static final long NULL_LONG = Long.MIN_VALUE;
+    private static final int NULL_CODE = -1;
+    private static final byte ACTIVE_UNKNOWN = 0;
+    private static final byte ACTIVE_FALSE = 1;
+    private static final byte ACTIVE_TRUE = 2;
+
+    private final Path path;
+
+    public ColumnarEmployeeSnapshotFile(Path directory) {
+        this.path = directory.resolve(FILE_NAME);
+    }
+
+    @Override
+    public Optional<Snapshot<Employee>> read() {
+        if (!Files.exists(path)) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot too large to map: " + path);
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(Integer.BYTES) != FORMAT_VERSION) {
+                throw new IOException("Unsupported snapshot format: " + path);
+            }
+            return Optional.of(new Snapshot<>(buffer.getLong(Integer.BYTES * 2), new MappedEmployees(buffer)));
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    @Override
+    public void write(long lastSegment, List<Employee> employees) {
+        Dictionary genders = new Dictionary();
+        Dictionary names = new Dictionary();
+        int[] genderCodes = new int[employees.size()];
+        int[] nameCodes = new int[employees.size()];
+        for (int row = 0; row < employees.size(); row++) {
+            genderCodes[row] = genders.encode(employees.get(row).getGender());
+            nameCodes[row] = names.encode(employees.get(row).getName());
+        }
+        AtomicFileWriter.write(path, output -> {
+            output.writeInt(MAGIC);
+            output.writeInt(FORMAT_VERSION);
+            output.writeLong(lastSegment);
+            output.writeInt(employees.size());
+            output.writeInt(genders.size());
+            output.writeInt(names.size());
+            for (Employee employee : employees) {
+                output.writeLong(employee.getId());
+            }
+            for (Employee employee : employees) {
+                output.writeInt(employee.getAge() == null ? NULL_INT : employee.getAge());
+            }
+            for (Employee employee : employees) {
+                output.writeInt(employee.getSalary() == null ? NULL_INT : employee.getSalary());
+            }
+            for (Employee employee : employees) {
+                output.writeLong(employee.getCompanyId() == null ? NULL_LONG : employee.getCompanyId());
+            }
+            for (Employee employee : employees) {
+                output.writeLong(employee.getVersion() == null ? NULL_LONG : employee.getVersion());
+            }
+            for (Employee employee : employees) {
+                output.writeByte(encodeActive(employee.isActive()));
+            }
+            for (int genderCode : genderCodes) {
+                output.writeInt(genderCode);
+            }
+            for (int nameCode : nameCodes) {
+                output.writeInt(nameCode);
+            }
+            genders.writeTo(output);
+            names.writeTo(output);
+        });
+    }
+
+    private static byte encodeActive(Boolean active) {
+        if (active == null) {
+            return ACTIVE_UNKNOWN;
+        }
+        return active ? ACTIVE_TRUE : ACTIVE_FALSE;
+    }
+
+    private static Boolean decodeActive(byte active) {
+        if (active == ACTIVE_UNKNOWN) {
+            return null;
+        }
+        return active == ACTIVE_TRUE;
+    }
+
+    private static class Dictionary {
+
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<byte[]> values = new ArrayList<>();
+
+        int encode(String value) {
+            if (value == null) {
+                return NULL_CODE;
+            }
+            return codes.computeIfAbsent(value, newValue -> {
+                values.add(newValue.getBytes(StandardCharsets.UTF_8));
+                return values.size() - 1;
+            });
+        }
+
+        int size() {
+            return values.size();
+        }
+
+        void writeTo(DataOutputStream output) throws IOException {
+            int offset = 0;
+            for (byte[] value : values) {
+                output.writeInt(offset);
+                offset += value.length;
+            }
+            output.writeInt(offset);
+            for (byte[] value : values) {
+                output.write(value);
+            }
+        }
+    }
+
+    private static class MappedDictionary {
+
+        private final ByteBuffer buffer;
+        private final int offsetsPosition;
+        private final int valuesPosition;
+        private final String[] decoded;
+
+        MappedDictionary(ByteBuffer buffer, int position, int size) {
+            this.buffer = buffer;
+            this.offsetsPosition = position;
+            this.valuesPosition = position + (size + 1) * Integer.BYTES;
+            this.decoded = new String[size];
+        }
+
+        int endPosition() {
+            return valuesPosition + buffer.getInt(offsetsPosition + decoded.length * Integer.BYTES);
+        }
+
+        String decode(int code) {
+            if (code == NULL_CODE) {
+                return null;
+            }
+            String value = decoded[code];
+            if (value == null) {
+                int start = buffer.getInt(offsetsPosition + code * Integer.BYTES);
+                int end = buffer.getInt(offsetsPosition + (code + 1) * Integer.BYTES);
+                byte[] bytes = new byte[end - start];
+                ByteBuffer view = buffer.duplicate();
+                view.position(valuesPosition + start);
+                view.get(bytes);
+                value = new String(bytes, StandardCharsets.UTF_8);
+                decoded[code] = value;
+            }
+            return value;
+        }
+    }
+
+    private static class MappedEmployees extends AbstractList<Employee> implements RandomAccess {
+
+        private final ByteBuffer buffer;
+        private final int size;
+        private final int idsPosition;
+        private final int agesPosition;
+        private final int salariesPosition;
+        private final int companyIdsPosition;
+        private final int versionsPosition;
+        private final int activePosition;
+        private final int genderCodesPosition;
+        private final int nameCodesPosition;
+        private final MappedDictionary genders;
+        private final MappedDictionary names;
+
+        MappedEmployees(ByteBuffer buffer) {
+            this.buffer = buffer;
+            this.size = buffer.getInt(Integer.BYTES * 2 + Long.BYTES);
+            int genderCount = buffer.getInt(Integer.BYTES * 3 + Long.BYTES);
+            int nameCount = buffer.getInt(Integer.BYTES * 4 + Long.BYTES);
+            this.idsPosition = HEADER_SIZE;
+            this.agesPosition = idsPosition + size * Long.BYTES;
+            this.salariesPosition = agesPosition + size * Integer.BYTES;
+            this.companyIdsPosition = salariesPosition + size * Integer.BYTES;
+            this.versionsPosition = companyIdsPosition + size * Long.BYTES;
+            this.activePosition = versionsPosition + size * Long.BYTES;
+            this.genderCodesPosition = activePosition + size;
+            this.nameCodesPosition = genderCodesPosition + size * Integer.BYTES;
+            this.genders = new MappedDictionary(buffer, nameCodesPosition + size * Integer.BYTES, genderCount);
+            this.names = new MappedDictionary(buffer, genders.endPosition(), nameCount);
+        }
+
+        @Override
+        public Employee get(int row) {
+            if (row < 0 || row >= size) {
+                throw new IndexOutOfBoundsException("Row " + row + " of " + size);
+            }
+            int age = buffer.getInt(agesPosition + row * Integer.BYTES);
+            int salary = buffer.getInt(salariesPosition + row * Integer.BYTES);
+            long companyId = buffer.getLong(companyIdsPosition + row * Long.BYTES);
+            long version = buffer.getLong(versionsPosition + row * Long.BYTES);
+            Employee employee = new Employee(
+                    buffer.getLong(idsPosition + row * Long.BYTES),
+                    names.decode(buffer.getInt(nameCodesPosition + row * Integer.BYTES)),
+                    age == NULL_INT ? null : age,
+                    genders.decode(buffer.getInt(genderCodesPosition + row * Integer.BYTES)),
+                    salary == NULL_INT ? null : salary,
+                    companyId == NULL_LONG ? null : companyId);
+            employee.setActive(decodeActive(buffer.get(activePosition + row)));
+            employee.setVersion(version == NULL_LONG ? null : version);
+            return employee;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
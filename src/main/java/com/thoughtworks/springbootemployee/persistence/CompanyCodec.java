@@ -0,0 +1,26 @@
+package com.thoughtworks.springbootemployee.persistence;
+
+import com.thoughtworks.springbootemployee.model.Company;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public class CompanyCodec implements EntityCodec<Company> {
+
+    @Override
+    public void write(Company company, DataOutput output) throws IOException {
+        output.writeLong(company.getId());
+        BinaryFields.writeString(output, company.getName());
+        BinaryFields.writeBoolean(output, company.isActive());
+        BinaryFields.writeLong(output, company.getVersion());
+    }
+
+    @Override
+    public Company read(DataInput input) throws IOException {
+        Company company = new Company(input.readLong(), BinaryFields.readString(input));
+        company.setActive(BinaryFields.readBoolean(input));
+        company.setVersion(BinaryFields.readLong(input));
+        return company;
+    }
+}
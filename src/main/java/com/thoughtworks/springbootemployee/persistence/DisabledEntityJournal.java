@@ -0,0 +1,26 @@
+package com.thoughtworks.springbootemployee.persistence;
+
+import com.thoughtworks.springbootemployee.repository.ConcurrentEntityStore;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+class DisabledEntityJournal<T> implements EntityJournal<T> {
+
+    @Override
+    public Optional<Stream<T>> recover() {
+        return Optional.empty();
+    }
+
+    @Override
+    public void attach(ConcurrentEntityStore<T> store) {
+    }
+
+    @Override
+    public void published(T previous, T current) {
+    }
+
+    @Override
+    public void cleared() {
+    }
+}
@@ -0,0 +1,36 @@
+package com.thoughtworks.springbootemployee.persistence;
+
+import com.thoughtworks.springbootemployee.model.Employee;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public class EmployeeCodec implements EntityCodec<Employee> {
+
+    @Override
+    public void write(Employee employee, DataOutput output) throws IOException {
+        output.writeLong(employee.getId());
+        BinaryFields.writeString(output, employee.getName());
+        BinaryFields.writeInt(output, employee.getAge());
+        BinaryFields.writeString(output, employee.getGender());
+        BinaryFields.writeInt(output, employee.getSalary());
+        BinaryFields.writeLong(output, employee.getCompanyId());
+        BinaryFields.writeBoolean(output, employee.isActive());
+        BinaryFields.writeLong(output, employee.getVersion());
+    }
+
+    @Override
+    public Employee read(DataInput input) throws IOException {
+        Employee employee = new Employee(
+                input.readLong(),
+                BinaryFields.readString(input),
+                BinaryFields.readInt(input),
+                BinaryFields.readString(input),
+                BinaryFields.readInt(input),
+                BinaryFields.readLong(input));
+        employee.setActive(BinaryFields.readBoolean(input));
+        employee.setVersion(BinaryFields.readLong(input));
+        return employee;
+    }
+}
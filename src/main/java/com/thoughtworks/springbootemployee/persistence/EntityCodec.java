@@ -0,0 +1,12 @@
+package com.thoughtworks.springbootemployee.persistence;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public interface EntityCodec<T> {
+
+    void write(T entity, DataOutput output) throws IOException;
+
+    T read(DataInput input) throws IOException;
+}
@@ -0,0 +1,28 @@
+package com.thoughtworks.springbootemployee.persistence;
+
+import com.thoughtworks.springbootemployee.repository.ConcurrentEntityStore;
+import com.thoughtworks.springbootemployee.repository.EntityStoreListener;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Durable record of the writes applied to a {@link ConcurrentEntityStore}.
+ */
+public interface EntityJournal<T> extends EntityStoreListener<T> {
+
+    /**
+     * @return the persisted entities, or empty when nothing has been persisted yet
+     */
+    Optional<Stream<T>> recover();
+
+    /**
+     * Starts journaling the writes of {@code store}. Entities inserted before attaching, such as the
+     * recovered ones, are not journaled again.
+     */
+    void attach(ConcurrentEntityStore<T> store);
+
+    static <T> EntityJournal<T> disabled() {
+        return new DisabledEntityJournal<>();
+    }
+}
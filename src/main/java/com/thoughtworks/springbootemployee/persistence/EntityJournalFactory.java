@@ -0,0 +1,69 @@
+package com.thoughtworks.springbootemployee.persistence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+@Component
+@EnableConfigurationProperties(PersistenceProperties.class)
+public class EntityJournalFactory implements DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EntityJournalFactory.class);
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final PersistenceProperties properties;
+    private final List<FileEntityJournal<?>> journals = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService snapshotScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "journal-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public EntityJournalFactory(PersistenceProperties properties) {
+        this.properties = properties;
+    }
+
+    public <T> EntityJournal<T> open(String name, EntityCodec<T> codec, Function<T, Long> idExtractor) {
+        return open(name, codec, idExtractor, directory -> new RowSnapshotFile<>(directory, codec));
+    }
+
+    public <T> EntityJournal<T> open(String name, EntityCodec<T> codec, Function<T, Long> idExtractor,
+                                     Function<Path, SnapshotFile<T>> snapshotFileFactory) {
+        if (!properties.isEnabled()) {
+            return EntityJournal.disabled();
+        }
+        FileEntityJournal<T> journal = new FileEntityJournal<>(Paths.get(properties.getDirectory(), name),
+                codec, idExtractor, snapshotFileFactory, properties.isFsync());
+        journals.add(journal);
+        long intervalMillis = properties.getSnapshotInterval().toMillis();
+        snapshotScheduler.scheduleWithFixedDelay(() -> snapshot(name, journal),
+                intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        return journal;
+    }
+
+    private void snapshot(String name, FileEntityJournal<?> journal) {
+        try {
+            journal.snapshot();
+        } catch (RuntimeException exception) {
+            LOGGER.error("Failed to snapshot " + name, exception);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        snapshotScheduler.shutdown();
+        snapshotScheduler.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        journals.forEach(FileEntityJournal::close);
+    }
+}
@@ -0,0 +1,136 @@
+package com.thoughtworks.springbootemployee.persistence;
+
+import com.thoughtworks.springbootemployee.repository.ConcurrentEntityStore;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Journals every published entity to a {@link WriteAheadLog} and periodically compacts the log into
+ * a {@link SnapshotFile}. Recovery loads the snapshot and replays the log segments written after it.
+ */
+public class FileEntityJournal<T> implements EntityJournal<T>, AutoCloseable {
+
+    private static final byte UPSERT = 1;
+    private static final byte CLEAR = 2;
+    private static final byte[] NO_PAYLOAD = new byte[0];
+
+    private final EntityCodec<T> codec;
+    private final Function<T, Long> idExtractor;
+    private final WriteAheadLog writeAheadLog;
+    private final SnapshotFile<T> snapshotFile;
+    private volatile ConcurrentEntityStore<T> store;
+
+    public FileEntityJournal(Path directory, EntityCodec<T> codec, Function<T, Long> idExtractor, boolean fsync) {
+        this(directory, codec, idExtractor, snapshotDirectory -> new RowSnapshotFile<>(snapshotDirectory, codec), fsync);
+    }
+
+    public FileEntityJournal(Path directory, EntityCodec<T> codec, Function<T, Long> idExtractor,
+                             Function<Path, SnapshotFile<T>> snapshotFileFactory, boolean fsync) {
+        this.codec = codec;
+        this.idExtractor = idExtractor;
+        this.writeAheadLog = new WriteAheadLog(directory, fsync);
+        this.snapshotFile = snapshotFileFactory.apply(directory);
+    }
+
+    /**
+     * Streams the snapshot rows, replacing the ones changed in the log by their logged version, then
+     * the entities that only exist in the log, each part in id order. Only the log is held in memory; snapshot rows are
+     * decoded as the stream is consumed, and the caller consumes all of them before serving.
+     */
+    @Override
+    public Optional<Stream<T>> recover() {
+        Optional<SnapshotFile.Snapshot<T>> snapshot = snapshotFile.read();
+        if (snapshot.isEmpty() && writeAheadLog.isEmpty()) {
+            return Optional.empty();
+        }
+        Map<Long, T> loggedEntities = new TreeMap<>();
+        AtomicBoolean clearedAfterSnapshot = new AtomicBoolean();
+        long lastSnapshotSegment = snapshot.map(SnapshotFile.Snapshot::getLastSegment).orElse(0L);
+        writeAheadLog.replay(lastSnapshotSegment, (operation, payload) -> {
+            if (operation == CLEAR) {
+                loggedEntities.clear();
+                clearedAfterSnapshot.set(true);
+            } else if (operation == UPSERT) {
+                T entity = codec.read(new DataInputStream(new ByteArrayInputStream(payload)));
+                loggedEntities.put(idExtractor.apply(entity), entity);
+            }
+        });
+        List<T> snapshotEntities = snapshot
+                .filter(image -> !clearedAfterSnapshot.get())
+                .map(SnapshotFile.Snapshot::getEntities)
+                .orElse(Collections.emptyList());
+        Stream<T> currentSnapshotEntities = snapshotEntities.stream()
+                .map(entity -> {
+                    T loggedEntity = loggedEntities.remove(idExtractor.apply(entity));
+                    return loggedEntity == null ? entity : loggedEntity;
+                });
+        return Optional.of(Stream.concat(currentSnapshotEntities,
+                Stream.of(loggedEntities).flatMap(remaining -> remaining.values().stream())));
+    }
+
+    @Override
+    public void attach(ConcurrentEntityStore<T> store) {
+        this.store = store;
+        store.attachJournal(this);
+    }
+
+    @Override
+    public void published(T previous, T current) {
+        writeAheadLog.append(UPSERT, encode(current));
+    }
+
+    @Override
+    public void cleared() {
+        writeAheadLog.append(CLEAR, NO_PAYLOAD);
+    }
+
+    @Override
+    public void committed() {
+        writeAheadLog.awaitDurable();
+    }
+
+    /**
+     * Seals the current log segment and writes every entity to a new snapshot. Writers are only held
+     * back while the segment is rotated and the published entities are collected, not while the
+     * snapshot is written.
+     */
+    public void snapshot() {
+        ConcurrentEntityStore<T> attachedStore = store;
+        if (attachedStore == null) {
+            return;
+        }
+        SnapshotFile.Snapshot<T> image = attachedStore.batch(() ->
+                new SnapshotFile.Snapshot<>(writeAheadLog.rotate(), attachedStore.findAllPublished()));
+        snapshotFile.write(image.getLastSegment(), image.getEntities());
+        writeAheadLog.deleteSegmentsUpTo(image.getLastSegment());
+    }
+
+    @Override
+    public void close() {
+        writeAheadLog.close();
+    }
+
+    private byte[] encode(T entity) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            codec.write(entity, output);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        return bytes.toByteArray();
+    }
+}
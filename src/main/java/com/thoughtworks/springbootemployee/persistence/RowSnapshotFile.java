@@ -0,0 +1,66 @@
+package com.thoughtworks.springbootemployee.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Row-by-row snapshot encoded with the table's {@link EntityCodec}.
+ */
+public class RowSnapshotFile<T> implements SnapshotFile<T> {
+
+    public static final String FILE_NAME = "snapshot.bin";
+
+    private static final int MAGIC = 0x454D5053;
+    private static final int FORMAT_VERSION = 2;
+
+    private final Path path;
+    private final EntityCodec<T> codec;
+
+    public RowSnapshotFile(Path directory, EntityCodec<T> codec) {
+        this.path = directory.resolve(FILE_NAME);
+        this.codec = codec;
+    }
+
+    @Override
+    public Optional<Snapshot<T>> read() {
+        if (!Files.exists(path)) {
+            return Optional.empty();
+        }
+        try (InputStream file = Files.newInputStream(path);
+             DataInputStream input = new DataInputStream(new BufferedInputStream(file))) {
+            if (input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION) {
+                throw new IOException("Unsupported snapshot format: " + path);
+            }
+            long lastSegment = input.readLong();
+            int count = input.readInt();
+            List<T> entities = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                entities.add(codec.read(input));
+            }
+            return Optional.of(new Snapshot<>(lastSegment, entities));
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    @Override
+    public void write(long lastSegment, List<T> entities) {
+        AtomicFileWriter.write(path, output -> {
+            output.writeInt(MAGIC);
+            output.writeInt(FORMAT_VERSION);
+            output.writeLong(lastSegment);
+            output.writeInt(entities.size());
+            for (T entity : entities) {
+                codec.write(entity, output);
+            }
+        });
+    }
+}
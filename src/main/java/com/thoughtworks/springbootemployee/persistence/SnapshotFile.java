@@ -0,0 +1,36 @@
+package com.thoughtworks.springbootemployee.persistence;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Image of a whole table together with the last log segment it already contains.
+ */
+public interface SnapshotFile<T> {
+
+    Optional<Snapshot<T>> read();
+
+    void write(long lastSegment, List<T> entities);
+
+    class Snapshot<T> {
+
+        private final long lastSegment;
+        private final List<T> entities;
+
+        public Snapshot(long lastSegment, List<T> entities) {
+            this.lastSegment = lastSegment;
+            this.entities = entities;
+        }
+
+        public long getLastSegment() {
+            return lastSegment;
+        }
+
+        /**
+         * @return the entities in id order; formats may decode them lazily on access
+         */
+        public List<T> getEntities() {
+            return entities;
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package com.thoughtworks.springbootemployee.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log split into numbered segment files.
+ * <p>
+ * Appends only write to the current segment; {@link #awaitDurable()} then makes them durable with
+ * group commit: the first waiting thread fsyncs on behalf of every record written so far while the
+ * others wait for it, so concurrent writers share one fsync instead of paying one each. Records only
+ * count as durable once an fsync covering them has succeeded; when it fails, every waiter of that
+ * group gets the error. Both locks are {@link ReentrantLock}s rather than monitors, so virtual threads
+ * blocked on a write or an fsync release their carrier thread.
+ */
+public class WriteAheadLog implements AutoCloseable {
+
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int FRAME_HEADER_SIZE = Integer.BYTES * 2 + Byte.BYTES;
+    private static final int MAX_PAYLOAD_SIZE = 16 * 1024 * 1024;
+
+    private final Path directory;
+    private final boolean fsync;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final Condition syncFinished = syncLock.newCondition();
+    private FileChannel channel;
+    private long segment;
+    private long writtenSequence;
+    private long durableSequence;
+    private SyncGroup syncInFlight;
+
+    public WriteAheadLog(Path directory, boolean fsync) {
+        this.directory = directory;
+        this.fsync = fsync;
+        try {
+            Files.createDirectories(directory);
+            segment = listSegments().stream().mapToLong(Long::longValue).max().orElse(0L) + 1;
+            channel = openSegment(segment);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    public boolean isEmpty() {
+        return listSegments().stream().allMatch(existingSegment -> segmentSize(existingSegment) == 0);
+    }
+
+    public void append(byte operation, byte[] payload) {
+        CRC32 checksum = new CRC32();
+        checksum.update(operation);
+        checksum.update(payload);
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER_SIZE + payload.length)
+                .putInt(payload.length)
+                .putInt((int) checksum.getValue())
+                .put(operation)
+                .put(payload)
+                .flip();
+        writeLock.lock();
+        try {
+            while (frame.hasRemaining()) {
+                channel.write(frame);
+            }
+            writtenSequence++;
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void awaitDurable() {
+        if (!fsync) {
+            return;
+        }
+        long sequence;
+        writeLock.lock();
+        try {
+            sequence = writtenSequence;
+        } finally {
+            writeLock.unlock();
+        }
+        while (true) {
+            SyncGroup group;
+            boolean leader;
+            syncLock.lock();
+            try {
+                if (durableSequence >= sequence) {
+                    return;
+                }
+                leader = syncInFlight == null;
+                if (leader) {
+                    syncInFlight = new SyncGroup();
+                }
+                group = syncInFlight;
+            } finally {
+                syncLock.unlock();
+            }
+            if (leader) {
+                sync(group);
+            } else {
+                syncLock.lock();
+                try {
+                    while (!group.done) {
+                        waitForSync();
+                    }
+                } finally {
+                    syncLock.unlock();
+                }
+            }
+            if (group.failure != null && group.target >= sequence) {
+                throw new UncheckedIOException("Write-ahead log fsync failed", group.failure);
+            }
+        }
+    }
+
+    private void sync(SyncGroup group) {
+        FileChannel channelToSync;
+        long target;
+        writeLock.lock();
+        try {
+            channelToSync = channel;
+            target = writtenSequence;
+        } finally {
+            writeLock.unlock();
+        }
+        boolean synced = false;
+        IOException failure = null;
+        try {
+            channelToSync.force(false);
+            synced = true;
+        } catch (ClosedChannelException exception) {
+            // Sealed by rotate(), which syncs everything it wrote before closing the segment.
+            synced = true;
+        } catch (IOException exception) {
+            failure = exception;
+        } finally {
+            syncLock.lock();
+            try {
+                group.target = target;
+                group.failure = failure;
+                group.done = true;
+                if (synced) {
+                    durableSequence = Math.max(durableSequence, target);
+                }
+                syncInFlight = null;
+                syncFinished.signalAll();
+            } finally {
+                syncLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Seals the current segment and continues in a new one.
+     *
+     * @return the number of the sealed segment
+     */
+    public long rotate() {
+        writeLock.lock();
+        try {
+            channel.force(false);
+            markDurable(writtenSequence);
+            FileChannel sealedChannel = channel;
+            long sealedSegment = segment;
+            segment++;
+            channel = openSegment(segment);
+            sealedChannel.close();
+            return sealedSegment;
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void deleteSegmentsUpTo(long lastSegment) {
+        for (Long existingSegment : listSegments()) {
+            if (existingSegment <= lastSegment) {
+                try {
+                    Files.deleteIfExists(segmentPath(existingSegment));
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+            }
+        }
+    }
+
+    /**
+     * Replays every intact record of the segments after {@code afterSegment}, in write order. A torn
+     * record left by a crash ends the replay of its segment.
+     */
+    public void replay(long afterSegment, RecordHandler handler) {
+        for (Long existingSegment : listSegments()) {
+            if (existingSegment > afterSegment && existingSegment < segment) {
+                replaySegment(existingSegment, handler);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        writeLock.lock();
+        try {
+            channel.force(false);
+            markDurable(writtenSequence);
+            channel.close();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void replaySegment(long replayedSegment, RecordHandler handler) {
+        try (InputStream file = Files.newInputStream(segmentPath(replayedSegment));
+             DataInputStream input = new DataInputStream(new BufferedInputStream(file))) {
+            while (true) {
+                int length = input.readInt();
+                int expectedChecksum = input.readInt();
+                if (length < 0 || length > MAX_PAYLOAD_SIZE) {
+                    return;
+                }
+                byte operation = input.readByte();
+                byte[] payload = new byte[length];
+                input.readFully(payload);
+                CRC32 checksum = new CRC32();
+                checksum.update(operation);
+                checksum.update(payload);
+                if ((int) checksum.getValue() != expectedChecksum) {
+                    return;
+                }
+                handler.handle(operation, payload);
+            }
+        } catch (EOFException exception) {
+            // End of segment, possibly in the middle of a torn record.
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private void markDurable(long sequence) {
+        syncLock.lock();
+        try {
+            durableSequence = Math.max(durableSequence, sequence);
+            syncFinished.signalAll();
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private void waitForSync() {
+        try {
+            syncFinished.await();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the write-ahead log", exception);
+        }
+    }
+
+    private FileChannel openSegment(long newSegment) throws IOException {
+        return FileChannel.open(segmentPath(newSegment),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private Path segmentPath(long existingSegment) {
+        return directory.resolve(String.format("%s%016d%s", SEGMENT_PREFIX, existingSegment, SEGMENT_SUFFIX));
+    }
+
+    private long segmentSize(long existingSegment) {
+        try {
+            return Files.size(segmentPath(existingSegment));
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private List<Long> listSegments() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * One fsync and the waiters sharing it. Only the records up to {@code target} are covered, and a
+     * failure is reported to every one of those waiters.
+     */
+    private static final class SyncGroup {
+
+        private long target;
+        private IOException failure;
+        private boolean done;
+    }
+
+    @FunctionalInterface
+    public interface RecordHandler {
+
+        void handle(byte operation, byte[] payload) throws IOException;
+    }
+}
@@ -0,0 +1,12 @@
+package com.thoughtworks.springbootemployee.query;
+
+import com.thoughtworks.springbootemployee.model.Employee;
+
+/**
+ * Parsed employee predicate. The node types are public so the repository planner can look inside a
+ * query and pick indexes for it; {@link #matches} is always applied to the candidates afterwards.
+ */
+public interface EmployeeQuery {
+
+    boolean matches(Employee employee);
+}
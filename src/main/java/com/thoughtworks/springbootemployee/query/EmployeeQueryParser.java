@@ -0,0 +1,169 @@
+package com.thoughtworks.springbootemployee.query;
+
+import com.thoughtworks.springbootemployee.exception.InvalidQueryException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parses the employee query language, for example
+ * {@code active=true AND companyId=3 AND age=25..40 AND salary>6000}.
+ * <p>
+ * Comparisons are {@code =}, {@code >}, {@code >=}, {@code <}, {@code <=} and the inclusive range
+ * {@code =low..high}; they combine with {@code AND}, {@code OR} and parentheses, AND binding tighter.
+ * String values may be double-quoted.
+ */
+public final class EmployeeQueryParser {
+
+    private static final Pattern TOKEN = Pattern.compile("\\s*(\\(|\\)|>=|<=|=|>|<|\\.\\.|\"[^\"]*\"|[A-Za-z0-9_\\-]+)");
+    private static final String AND = "AND";
+    private static final String OR = "OR";
+    private static final String RANGE = "..";
+
+    private final List<String> tokens;
+    private int position;
+
+    private EmployeeQueryParser(List<String> tokens) {
+        this.tokens = tokens;
+    }
+
+    public static EmployeeQuery parse(String query) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidQueryException("query is empty");
+        }
+        EmployeeQueryParser parser = new EmployeeQueryParser(tokenize(query));
+        EmployeeQuery parsedQuery = parser.parseOr();
+        if (parser.hasNext()) {
+            throw new InvalidQueryException("unexpected '" + parser.peek() + "'");
+        }
+        return parsedQuery;
+    }
+
+    private static List<String> tokenize(String query) {
+        List<String> tokens = new ArrayList<>();
+        Matcher matcher = TOKEN.matcher(query);
+        int position = 0;
+        while (position < query.length()) {
+            matcher.region(position, query.length());
+            if (!matcher.lookingAt()) {
+                if (query.substring(position).isBlank()) {
+                    break;
+                }
+                throw new InvalidQueryException("unexpected character at position " + position);
+            }
+            tokens.add(matcher.group(1));
+            position = matcher.end();
+        }
+        return tokens;
+    }
+
+    private EmployeeQuery parseOr() {
+        List<EmployeeQuery> operands = new ArrayList<>();
+        operands.add(parseAnd());
+        while (nextIsKeyword(OR)) {
+            position++;
+            operands.add(parseAnd());
+        }
+        return operands.size() == 1 ? operands.get(0) : new OrQuery(operands);
+    }
+
+    private EmployeeQuery parseAnd() {
+        List<EmployeeQuery> operands = new ArrayList<>();
+        operands.add(parsePrimary());
+        while (nextIsKeyword(AND)) {
+            position++;
+            operands.add(parsePrimary());
+        }
+        return operands.size() == 1 ? operands.get(0) : new AndQuery(operands);
+    }
+
+    private EmployeeQuery parsePrimary() {
+        String token = next();
+        if ("(".equals(token)) {
+            EmployeeQuery groupedQuery = parseOr();
+            expect(")");
+            return groupedQuery;
+        }
+        QueryField field = QueryField.fromName(token)
+                .orElseThrow(() -> new InvalidQueryException("unknown field '" + token + "'"));
+        String operator = next();
+        Comparable<?> value = parseValue(field);
+        if ("=".equals(operator)) {
+            if (!RANGE.equals(peek())) {
+                return FieldQuery.equalTo(field, value);
+            }
+            position++;
+            requireOrdered(field, RANGE);
+            Comparable<?> upper = parseValue(field);
+            if (compare(value, upper) > 0) {
+                throw new InvalidQueryException("range " + value + RANGE + upper + " of " + field.getFieldName()
+                        + " is empty");
+            }
+            return new FieldQuery(field, value, true, upper, true);
+        }
+        requireOrdered(field, operator);
+        switch (operator) {
+            case ">":
+                return new FieldQuery(field, value, false, null, false);
+            case ">=":
+                return new FieldQuery(field, value, true, null, false);
+            case "<":
+                return new FieldQuery(field, null, false, value, false);
+            case "<=":
+                return new FieldQuery(field, null, false, value, true);
+            default:
+                throw new InvalidQueryException("unknown operator '" + operator + "'");
+        }
+    }
+
+    private Comparable<?> parseValue(QueryField field) {
+        String token = next();
+        String value = token.length() >= 2 && token.startsWith("\"") && token.endsWith("\"")
+                ? token.substring(1, token.length() - 1)
+                : token;
+        try {
+            return field.parse(value);
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidQueryException("invalid value '" + value + "' for " + field.getFieldName());
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compare(Comparable value, Comparable bound) {
+        return value.compareTo(bound);
+    }
+
+    private void requireOrdered(QueryField field, String operator) {
+        if (!field.isOrdered()) {
+            throw new InvalidQueryException("'" + operator + "' is not supported on " + field.getFieldName());
+        }
+    }
+
+    private void expect(String expectedToken) {
+        String token = next();
+        if (!expectedToken.equals(token)) {
+            throw new InvalidQueryException("expected '" + expectedToken + "' but found '" + token + "'");
+        }
+    }
+
+    private boolean nextIsKeyword(String keyword) {
+        return hasNext() && keyword.equalsIgnoreCase(peek());
+    }
+
+    private boolean hasNext() {
+        return position < tokens.size();
+    }
+
+    private String peek() {
+        return hasNext() ? tokens.get(position) : null;
+    }
+
+    private String next() {
+        if (!hasNext()) {
+            throw new InvalidQueryException("unexpected end of query");
+        }
+        return tokens.get(position++);
+    }
+}
@@ -0,0 +1,77 @@
+package com.thoughtworks.springbootemployee.query;
+
+import com.thoughtworks.springbootemployee.model.Employee;
+
+/**
+ * Compares one field against an optional lower and upper bound. Equality is the range whose bounds
+ * are the same inclusive value.
+ */
+public class FieldQuery implements EmployeeQuery {
+
+    private final QueryField field;
+    private final Comparable<?> lower;
+    private final boolean lowerInclusive;
+    private final Comparable<?> upper;
+    private final boolean upperInclusive;
+
+    public FieldQuery(QueryField field, Comparable<?> lower, boolean lowerInclusive, Comparable<?> upper,
+                      boolean upperInclusive) {
+        this.field = field;
+        this.lower = lower;
+        this.lowerInclusive = lowerInclusive;
+        this.upper = upper;
+        this.upperInclusive = upperInclusive;
+    }
+
+    public static FieldQuery equalTo(QueryField field, Comparable<?> value) {
+        return new FieldQuery(field, value, true, value, true);
+    }
+
+    public QueryField getField() {
+        return field;
+    }
+
+    public Comparable<?> getLower() {
+        return lower;
+    }
+
+    public boolean isLowerInclusive() {
+        return lowerInclusive;
+    }
+
+    public Comparable<?> getUpper() {
+        return upper;
+    }
+
+    public boolean isUpperInclusive() {
+        return upperInclusive;
+    }
+
+    public boolean isEquality() {
+        return lower != null && lower.equals(upper) && lowerInclusive && upperInclusive;
+    }
+
+    @Override
+    public boolean matches(Employee employee) {
+        Comparable<?> value = field.valueOf(employee);
+        if (value == null) {
+            return false;
+        }
+        if (lower != null) {
+            int comparison = compare(value, lower);
+            if (comparison < 0 || comparison == 0 && !lowerInclusive) {
+                return false;
+            }
+        }
+        if (upper != null) {
+            int comparison = compare(value, upper);
+            return comparison < 0 || comparison == 0 && upperInclusive;
+        }
+        return true;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compare(Comparable value, Comparable bound) {
+        return value.compareTo(bound);
+    }
+}
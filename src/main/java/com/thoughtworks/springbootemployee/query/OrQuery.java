@@ -0,0 +1,28 @@
+package com.thoughtworks.springbootemployee.query;
+
+import com.thoughtworks.springbootemployee.model.Employee;
+
+import java.util.List;
+
+public class OrQuery implements EmployeeQuery {
+
+    private final List<EmployeeQuery> operands;
+
+    public OrQuery(List<EmployeeQuery> operands) {
+        this.operands = operands;
+    }
+
+    public List<EmployeeQuery> getOperands() {
+        return operands;
+    }
+
+    @Override
+    public boolean matches(Employee employee) {
+        for (EmployeeQuery operand : operands) {
+            if (operand.matches(employee)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
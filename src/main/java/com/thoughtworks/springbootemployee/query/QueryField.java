@@ -0,0 +1,67 @@
+package com.thoughtworks.springbootemployee.query;
+
+import com.thoughtworks.springbootemployee.exception.InvalidQueryException;
+import com.thoughtworks.springbootemployee.model.Employee;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Function;
+
+public enum QueryField {
+    AGE("age", true, Employee::getAge, Integer::valueOf),
+    SALARY("salary", true, Employee::getSalary, Integer::valueOf),
+    GENDER("gender", false, Employee::getGender, value -> value),
+    COMPANY_ID("companyId", false, Employee::getCompanyId, Long::valueOf),
+    ACTIVE("active", false, employee -> !employee.isInactive(), QueryField::parseBoolean);
+
+    private final String fieldName;
+    private final boolean ordered;
+    private final Function<Employee, Comparable<?>> extractor;
+    private final Function<String, Comparable<?>> parser;
+
+    QueryField(String fieldName, boolean ordered, Function<Employee, Comparable<?>> extractor,
+               Function<String, Comparable<?>> parser) {
+        this.fieldName = fieldName;
+        this.ordered = ordered;
+        this.extractor = extractor;
+        this.parser = parser;
+    }
+
+    public static Optional<QueryField> fromName(String name) {
+        return Arrays.stream(values())
+                .filter(field -> field.fieldName.equalsIgnoreCase(name))
+                .findFirst();
+    }
+
+    public static QueryField orderedFromName(String name) {
+        return fromName(name)
+                .filter(QueryField::isOrdered)
+                .orElseThrow(() -> new InvalidQueryException("cannot order by '" + name + "'"));
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    /**
+     * Whether range comparisons make sense for this field; the others only support equality.
+     */
+    public boolean isOrdered() {
+        return ordered;
+    }
+
+    Comparable<?> valueOf(Employee employee) {
+        return extractor.apply(employee);
+    }
+
+    Comparable<?> parse(String value) {
+        return parser.apply(value);
+    }
+
+    private static Boolean parseBoolean(String value) {
+        if (!"true".equalsIgnoreCase(value) && !"false".equalsIgnoreCase(value)) {
+            throw new IllegalArgumentException("not a boolean: " + value);
+        }
+        return Boolean.valueOf(value);
+    }
+}
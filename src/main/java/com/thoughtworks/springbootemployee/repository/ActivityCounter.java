@@ -0,0 +1,45 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Keeps running active and inactive counts of the published entities so gauges never have to scan
+ * the store.
+ */
+public class ActivityCounter<T> implements EntityStoreListener<T> {
+
+    private final Predicate<T> inactive;
+    private final LongAdder activeCount = new LongAdder();
+    private final LongAdder inactiveCount = new LongAdder();
+
+    public ActivityCounter(Predicate<T> inactive) {
+        this.inactive = inactive;
+    }
+
+    public long getActiveCount() {
+        return activeCount.sum();
+    }
+
+    public long getInactiveCount() {
+        return inactiveCount.sum();
+    }
+
+    @Override
+    public void published(T previous, T current) {
+        if (previous != null) {
+            counterOf(previous).decrement();
+        }
+        counterOf(current).increment();
+    }
+
+    @Override
+    public void cleared() {
+        activeCount.reset();
+        inactiveCount.reset();
+    }
+
+    private LongAdder counterOf(T entity) {
+        return inactive.test(entity) ? inactiveCount : activeCount;
+    }
+}
@@ -0,0 +1,18 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class AtomicIdGenerator implements IdGenerator {
+
+    private final AtomicLong lastUsedId = new AtomicLong();
+
+    @Override
+    public long nextId() {
+        return lastUsedId.incrementAndGet();
+    }
+
+    @Override
+    public void reset(long lastUsedId) {
+        this.lastUsedId.set(lastUsedId);
+    }
+}
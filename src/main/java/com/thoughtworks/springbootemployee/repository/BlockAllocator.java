@@ -0,0 +1,15 @@
+package com.thoughtworks.springbootemployee.repository;
+
+public interface BlockAllocator {
+
+    /**
+     * Reserves {@code blockSize} consecutive ids and returns the first one.
+     */
+    long allocate(int blockSize);
+
+    /**
+     * Makes sure ids up to {@code lastUsedId} are never handed out. Never moves the allocator
+     * backwards, since other nodes may already hold blocks above it.
+     */
+    void advanceTo(long lastUsedId);
+}
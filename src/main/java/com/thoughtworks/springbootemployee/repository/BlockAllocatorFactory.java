@@ -0,0 +1,12 @@
+package com.thoughtworks.springbootemployee.repository;
+
+/**
+ * Source of the {@link BlockAllocator} of every entity, for nodes sharing their id blocks.
+ */
+public interface BlockAllocatorFactory {
+
+    /**
+     * @return the allocator of {@code entity}, independent of the allocators of other entities
+     */
+    BlockAllocator forEntity(String entity);
+}
@@ -0,0 +1,120 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.model.Employee;
+
+import java.util.Arrays;
+
+/**
+ * Employee storage laid out as primitive columns indexed by id: ages and salaries in int arrays,
+ * company ids and versions in long arrays, genders as codes into a small dictionary and presence
+ * and active flags in bitsets. Only the names remain object references, so the heap holds no
+ * per-employee objects besides the name strings.
+ */
+public class ColumnarEmployeeStorage extends PrimitiveEmployeeStorage {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private Columns columns = new Columns(INITIAL_CAPACITY);
+
+    @Override
+    Employee readRow(int row) {
+        Columns current = columns;
+        if (row >= current.capacity || !isSet(current.present, row)) {
+            return null;
+        }
+        return materialize(row, current.names[row], current.ages[row], current.genderCodes[row],
+                current.salaries[row], current.companyIds[row],
+                isSet(current.activeKnown, row) ? isSet(current.activeValues, row) : null, current.versions[row]);
+    }
+
+    @Override
+    boolean writeRow(int row, Employee employee) {
+        Columns current = ensureCapacity(row);
+        current.names[row] = employee.getName();
+        current.ages[row] = encodeInt(employee.getAge());
+        current.salaries[row] = encodeInt(employee.getSalary());
+        current.companyIds[row] = encodeLong(employee.getCompanyId());
+        current.versions[row] = encodeLong(employee.getVersion());
+        current.genderCodes[row] = genders.encode(employee.getGender());
+        setBit(current.activeKnown, row, employee.isActive() != null);
+        setBit(current.activeValues, row, Boolean.TRUE.equals(employee.isActive()));
+        if (isSet(current.present, row)) {
+            return false;
+        }
+        setBit(current.present, row, true);
+        return true;
+    }
+
+    @Override
+    void clearRows() {
+        columns = new Columns(INITIAL_CAPACITY);
+    }
+
+    private Columns ensureCapacity(int row) {
+        Columns current = columns;
+        if (row >= current.capacity) {
+            current = current.grow(Math.max(row + 1, (int) Math.min(MAX_ROWS, current.capacity * 2L)));
+            columns = current;
+        }
+        return current;
+    }
+
+    private static boolean isSet(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private static void setBit(long[] bits, int index, boolean value) {
+        if (value) {
+            bits[index >>> 6] |= 1L << index;
+        } else {
+            bits[index >>> 6] &= ~(1L << index);
+        }
+    }
+
+    private static final class Columns {
+
+        private final int capacity;
+        private final String[] names;
+        private final int[] ages;
+        private final int[] salaries;
+        private final long[] companyIds;
+        private final long[] versions;
+        private final short[] genderCodes;
+        private final long[] present;
+        private final long[] activeKnown;
+        private final long[] activeValues;
+
+        private Columns(int capacity) {
+            this(capacity, new String[capacity], new int[capacity], new int[capacity], new long[capacity],
+                    new long[capacity], new short[capacity], new long[wordsFor(capacity)], new long[wordsFor(capacity)],
+                    new long[wordsFor(capacity)]);
+        }
+
+        private Columns(int capacity, String[] names, int[] ages, int[] salaries, long[] companyIds,
+                        long[] versions, short[] genderCodes, long[] present, long[] activeKnown, long[] activeValues) {
+            this.capacity = capacity;
+            this.names = names;
+            this.ages = ages;
+            this.salaries = salaries;
+            this.companyIds = companyIds;
+            this.versions = versions;
+            this.genderCodes = genderCodes;
+            this.present = present;
+            this.activeKnown = activeKnown;
+            this.activeValues = activeValues;
+        }
+
+        private Columns grow(int newCapacity) {
+            int words = wordsFor(newCapacity);
+            return new Columns(newCapacity, Arrays.copyOf(names, newCapacity), Arrays.copyOf(ages, newCapacity),
+                    Arrays.copyOf(salaries, newCapacity), Arrays.copyOf(companyIds, newCapacity),
+                    Arrays.copyOf(versions, newCapacity), Arrays.copyOf(genderCodes, newCapacity),
+                    Arrays.copyOf(present, words), Arrays.copyOf(activeKnown, words),
+                    Arrays.copyOf(activeValues, words));
+        }
+
+        private static int wordsFor(int capacity) {
+            return (int) ((capacity + Long.SIZE - 1L) >>> 6);
+        }
+    }
+}
@@ -1,67 +1,211 @@
 package com.thoughtworks.springbootemployee.repository;
 
+import com.thoughtworks.springbootemployee.changes.ChangeLog;
 import com.thoughtworks.springbootemployee.exception.CompanyNotFoundException;
+import com.thoughtworks.springbootemployee.exception.InvalidPageLimitException;
+import com.thoughtworks.springbootemployee.exception.VersionConflictException;
+import com.thoughtworks.springbootemployee.metrics.OperationTimer;
+import com.thoughtworks.springbootemployee.metrics.StoreGauges;
 import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.CursorPage;
+import com.thoughtworks.springbootemployee.persistence.CompanyCodec;
+import com.thoughtworks.springbootemployee.persistence.EntityJournal;
+import com.thoughtworks.springbootemployee.persistence.EntityJournalFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Repository
 public class CompanyRepository {
 
-    private static final List<Company> companies = new ArrayList<>();
     public static final long EMPTY_LIST_SIZE = 0L;
-    public static final int ID_INCREMENT = 1;
+    private static final String ENTITY = "companies";
+    private static final String LAYER = "repository";
 
-    static {
-        companies.add(new Company(1L, "Orient Overseas Container Line"));
-        companies.add(new Company(2L, "COSCO Shipping Lines"));
-        companies.add(new Company(3L, "Thoughtworks"));
-        companies.add(new Company(4L, "Microsoft"));
-        companies.add(new Company(5L, "Apple"));
+    private final ConcurrentEntityStore<Company> companies = new ConcurrentEntityStore<>(Company::getId, Company::copy);
+    private final ActivityCounter<Company> activityCounter = new ActivityCounter<>(CompanyRepository::isInactive);
+    private final IdGenerator idGenerator;
+    private final OperationTimer lookupTimer;
+    private final OperationTimer scanTimer;
+    private final OperationTimer pageTimer;
+    private final OperationTimer cursorTimer;
+    private final OperationTimer addTimer;
+    private final OperationTimer updateTimer;
+    private final OperationTimer deactivateTimer;
+
+    public CompanyRepository() {
+        this(new AtomicIdGenerator(), EntityJournal.disabled());
+    }
+
+    @Autowired
+    public CompanyRepository(IdGeneratorFactory idGeneratorFactory, EntityJournalFactory journalFactory,
+                             ChangeLog changeLog, MeterRegistry meterRegistry) {
+        this(idGeneratorFactory.create(ENTITY), journalFactory.open(ENTITY, new CompanyCodec(), Company::getId), meterRegistry);
+        changeLog.attach(ENTITY, companies, Company::getId, Company::getVersion, CompanyRepository::isInactive,
+                Company::copy);
+    }
+
+    public CompanyRepository(IdGenerator idGenerator, EntityJournal<Company> journal) {
+        this(idGenerator, journal, Metrics.globalRegistry);
+    }
+
+    public CompanyRepository(IdGenerator idGenerator, EntityJournal<Company> journal, MeterRegistry meterRegistry) {
+        this.idGenerator = idGenerator;
+        this.lookupTimer = new OperationTimer(meterRegistry, LAYER, ENTITY, "lookup");
+        this.scanTimer = new OperationTimer(meterRegistry, LAYER, ENTITY, "scan");
+        this.pageTimer = new OperationTimer(meterRegistry, LAYER, ENTITY, "page");
+        this.cursorTimer = new OperationTimer(meterRegistry, LAYER, ENTITY, "cursor-page");
+        this.addTimer = new OperationTimer(meterRegistry, LAYER, ENTITY, "add");
+        this.updateTimer = new OperationTimer(meterRegistry, LAYER, ENTITY, "update");
+        this.deactivateTimer = new OperationTimer(meterRegistry, LAYER, ENTITY, "deactivate");
+        companies.addListener(activityCounter);
+        StoreGauges.register(meterRegistry, ENTITY, companies, activityCounter);
+        Optional<Stream<Company>> recoveredCompanies = journal.recover();
+        recoveredCompanies.ifPresent(companies::load);
+        journal.attach(companies);
+        if (recoveredCompanies.isEmpty()) {
+            insertFirstVersion(new Company(1L, "Orient Overseas Container Line"));
+            insertFirstVersion(new Company(2L, "COSCO Shipping Lines"));
+            insertFirstVersion(new Company(3L, "Thoughtworks"));
+            insertFirstVersion(new Company(4L, "Microsoft"));
+            insertFirstVersion(new Company(5L, "Apple"));
+        }
+        idGenerator.reset(findLastUsedId());
     }
 
     public List<Company> getAllCompanies() {
-        return companies;
+        long start = scanTimer.start();
+        try {
+            return companies.findAll();
+        } finally {
+            scanTimer.stop(start);
+        }
+    }
+
+    public Stream<Company> streamAllCompanies() {
+        return companies.stream();
     }
 
     public Company findCompanyById(Long id) {
-        return companies.stream()
-                .filter(company -> company.getId().equals(id))
-                .findFirst()
-                .orElseThrow(CompanyNotFoundException::new);
+        long start = lookupTimer.start();
+        try {
+            return companies.findById(id)
+                    .orElseThrow(CompanyNotFoundException::new);
+        } catch (CompanyNotFoundException exception) {
+            lookupTimer.failed();
+            throw exception;
+        } finally {
+            lookupTimer.stop(start);
+        }
     }
 
     public List<Company> listCompaniesByPage(Long pageNumber, Long pageSize) {
-        return companies.stream()
-                .skip((pageNumber - 1) * pageSize)
-                .limit(pageSize)
-                .collect(Collectors.toList());
+        long start = pageTimer.start();
+        try {
+            return companies.stream()
+                    .skip((pageNumber - 1) * pageSize)
+                    .limit(pageSize)
+                    .collect(Collectors.toList());
+        } finally {
+            pageTimer.stop(start);
+        }
+    }
+
+    public CursorPage<Company> listCompaniesAfter(Long after, Integer limit) {
+        if (limit < 1) {
+            throw new InvalidPageLimitException();
+        }
+        long start = cursorTimer.start();
+        try {
+            return companies.findPageAfter(after, limit);
+        } finally {
+            cursorTimer.stop(start);
+        }
     }
 
     public Company addCompany(Company company) {
-        Long id = generateNextCompanyId();
-        Company newCompany = new Company(id, company.getName());
-        companies.add(newCompany);
-        return newCompany;
+        long start = addTimer.start();
+        try {
+            Long id = idGenerator.nextId();
+            return insertFirstVersion(new Company(id, company.getName()));
+        } finally {
+            addTimer.stop(start);
+        }
     }
 
     public Company updateCompany(Long id, Company newCompanyInfo) {
-        Company company = findCompanyById(id);
-        company.setName(newCompanyInfo.getName());
-        return company;
+        return updateCompany(id, newCompanyInfo, null);
+    }
+
+    /**
+     * @param expectedVersion the version the update is based on, or {@code null} to update any version
+     */
+    public Company updateCompany(Long id, Company newCompanyInfo, Long expectedVersion) {
+        long start = updateTimer.start();
+        try {
+            return companies.update(id, company -> {
+                        if (expectedVersion != null && !expectedVersion.equals(company.getVersion())) {
+                            throw new VersionConflictException();
+                        }
+                        company.incrementVersion();
+                        company.setName(newCompanyInfo.getName());
+                    })
+                    .orElseThrow(CompanyNotFoundException::new);
+        } catch (CompanyNotFoundException | VersionConflictException exception) {
+            updateTimer.failed();
+            throw exception;
+        } finally {
+            updateTimer.stop(start);
+        }
+    }
+
+    public Company deactivateCompany(Long id) {
+        long start = deactivateTimer.start();
+        try {
+            return companies.update(id, company -> {
+                        company.incrementVersion();
+                        company.setActive(Boolean.FALSE);
+                    })
+                    .orElseThrow(CompanyNotFoundException::new);
+        } catch (CompanyNotFoundException exception) {
+            deactivateTimer.failed();
+            throw exception;
+        } finally {
+            deactivateTimer.stop(start);
+        }
+    }
+
+    private Company insertFirstVersion(Company company) {
+        company.setVersion(Company.INITIAL_VERSION);
+        return companies.insert(company);
+    }
+
+    public long getCollectionVersion() {
+        return companies.getVersion();
+    }
+
+    private static boolean isInactive(Company company) {
+        return Boolean.FALSE.equals(company.isActive());
+    }
+
+    private long findLastUsedId() {
+        return companies.findLastId()
+                .orElse(EMPTY_LIST_SIZE);
     }
 
-    private Long generateNextCompanyId() {
-        return companies.stream()
-                .mapToLong(Company::getId)
-                .max()
-                .orElse(EMPTY_LIST_SIZE) + ID_INCREMENT;
+    public <R> R runInBatch(Supplier<R> writes) {
+        return companies.batch(writes);
     }
 
     public void cleanAll() {
         companies.clear();
+        idGenerator.reset(EMPTY_LIST_SIZE);
     }
 }
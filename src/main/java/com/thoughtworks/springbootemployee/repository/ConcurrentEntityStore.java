@@ -0,0 +1,292 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.model.CursorPage;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Thread-safe entity storage shared by the in-memory repositories.
+ * <p>
+ * Stored entities are never mutated once published: writers copy the current version, change the
+ * copy and swap it in under a per-id lock stripe, so writes to different ids scale across cores.
+ * Readers never lock and always receive a private copy of a fully published version.
+ * <p>
+ * The {@link EntityStorage} decides how published versions are laid out in memory. Storages that
+ * materialize a new instance on every read are not copied again.
+ * <p>
+ * A journal, when attached, sees every write before the other listeners, so a write it fails to
+ * record never reaches the indexes or statistics derived from the store.
+ */
+public class ConcurrentEntityStore<T> {
+
+    public static final int MAX_PAGE_LIMIT = 1000;
+    private static final int STRIPE_COUNT = 64;
+
+    private final Function<T, Long> idExtractor;
+    private final UnaryOperator<T> copier;
+    private final EntityStorage<T> storage;
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPE_COUNT];
+    private final List<EntityStoreListener<T>> listeners = new CopyOnWriteArrayList<>();
+    private volatile EntityStoreListener<T> journal;
+    private final AtomicLong version = new AtomicLong();
+
+    public ConcurrentEntityStore(Function<T, Long> idExtractor, UnaryOperator<T> copier) {
+        this(idExtractor, copier, new HeapEntityStorage<>());
+    }
+
+    public ConcurrentEntityStore(Function<T, Long> idExtractor, UnaryOperator<T> copier, EntityStorage<T> storage) {
+        this.idExtractor = idExtractor;
+        this.copier = copier;
+        this.storage = storage;
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public Optional<T> findById(Long id) {
+        return Optional.ofNullable(id)
+                .map(storage::get)
+                .map(this::detach);
+    }
+
+    public Stream<T> findAllById(Collection<Long> ids) {
+        return ids.stream()
+                .map(storage::get)
+                .filter(Objects::nonNull)
+                .map(this::detach);
+    }
+
+    /**
+     * Tests the published versions and copies only the matches.
+     */
+    public Stream<T> findAllById(Collection<Long> ids, Predicate<? super T> filter) {
+        return ids.stream()
+                .map(storage::get)
+                .filter(Objects::nonNull)
+                .filter(filter)
+                .map(this::detach);
+    }
+
+    /**
+     * Full scan in id order that tests the published versions and copies only the matches. A parallel
+     * scan splits the storage across the common pool but still yields matches in id order.
+     */
+    public Stream<T> scan(Predicate<? super T> filter, boolean parallel) {
+        Stream<T> published = storage.values();
+        return (parallel ? published.parallel() : published)
+                .filter(filter)
+                .map(this::detach);
+    }
+
+    public List<T> findAll() {
+        return stream().collect(Collectors.toList());
+    }
+
+    public Stream<T> stream() {
+        return storage.values().map(this::detach);
+    }
+
+    /**
+     * @param limit the requested page size, at least 1; larger values are capped at {@link #MAX_PAGE_LIMIT}
+     */
+    public CursorPage<T> findPageAfter(Long after, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page limit must be at least 1");
+        }
+        int pageSize = Math.min(limit, MAX_PAGE_LIMIT);
+        List<T> items = new ArrayList<>();
+        Long lastId = after;
+        try (Stream<T> remaining = storage.valuesAfter(after)) {
+            Iterator<T> entities = remaining.iterator();
+            while (entities.hasNext()) {
+                T entity = entities.next();
+                if (items.size() >= pageSize) {
+                    return new CursorPage<>(items, lastId);
+                }
+                items.add(detach(entity));
+                lastId = idExtractor.apply(entity);
+            }
+        }
+        return new CursorPage<>(items, null);
+    }
+
+    /**
+     * Returns the published versions themselves rather than copies. Callers must treat them as
+     * read-only; this exists for consumers such as snapshot writers that only serialize entities.
+     */
+    public List<T> findAllPublished() {
+        return storage.values().collect(Collectors.toList());
+    }
+
+    public Optional<Long> findLastId() {
+        return storage.lastId();
+    }
+
+    public void addListener(EntityStoreListener<T> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Registers the listener that records writes durably. It runs ahead of every other listener, and
+     * its failure aborts the write before anything else has applied it.
+     */
+    public void attachJournal(EntityStoreListener<T> journal) {
+        if (this.journal != null) {
+            throw new IllegalStateException("A journal is already attached");
+        }
+        this.journal = journal;
+    }
+
+    public int size() {
+        return storage.size();
+    }
+
+    /**
+     * Counts the writes to the store. It moves only after a write is visible, so everything read after
+     * observing a version is at least as new as that version.
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Bulk-loads entities while the store is not yet shared with other threads, skipping the
+     * defensive copies and locking of {@link #insert}. Listeners still see every loaded entity.
+     */
+    public void load(Stream<T> loadedEntities) {
+        loadedEntities.forEach(entity -> publish(idExtractor.apply(entity), entity));
+    }
+
+    public T insert(T entity) {
+        T storedEntity = copier.apply(entity);
+        Long id = idExtractor.apply(storedEntity);
+        ReentrantLock stripe = stripeFor(id);
+        stripe.lock();
+        try {
+            publish(id, storedEntity);
+        } finally {
+            stripe.unlock();
+        }
+        notifyCommitted();
+        return detach(storedEntity);
+    }
+
+    public Optional<T> update(Long id, Consumer<T> mutation) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        ReentrantLock stripe = stripeFor(id);
+        T updatedEntity;
+        stripe.lock();
+        try {
+            T currentEntity = storage.get(id);
+            if (currentEntity == null) {
+                return Optional.empty();
+            }
+            updatedEntity = detach(currentEntity);
+            mutation.accept(updatedEntity);
+            publish(id, updatedEntity);
+        } finally {
+            stripe.unlock();
+        }
+        notifyCommitted();
+        return Optional.of(detach(updatedEntity));
+    }
+
+    /**
+     * Runs a group of writes while holding every lock stripe once, instead of acquiring a stripe
+     * per written entity. Reads are not blocked. When a write fails, the ones before it have still
+     * been published and are committed before the failure propagates.
+     */
+    public <R> R batch(Supplier<R> writes) {
+        lockAll();
+        try {
+            return writes.get();
+        } finally {
+            unlockAll();
+            notifyCommitted();
+        }
+    }
+
+    public void clear() {
+        lockAll();
+        try {
+            EntityStoreListener<T> attachedJournal = journal;
+            if (attachedJournal != null) {
+                attachedJournal.cleared();
+            }
+            listeners.forEach(EntityStoreListener::cleared);
+            storage.clear();
+            version.incrementAndGet();
+        } finally {
+            unlockAll();
+        }
+        notifyCommitted();
+    }
+
+    private void publish(Long id, T entity) {
+        storage.reserve(id, entity);
+        T previous = storage.get(id);
+        EntityStoreListener<T> attachedJournal = journal;
+        if (attachedJournal != null) {
+            attachedJournal.published(previous, entity);
+        }
+        for (EntityStoreListener<T> listener : listeners) {
+            listener.published(previous, entity);
+        }
+        storage.put(id, entity);
+        version.incrementAndGet();
+    }
+
+    private T detach(T published) {
+        return storage.materializesOnRead() ? published : copier.apply(published);
+    }
+
+    private void notifyCommitted() {
+        if (isBatchInProgress()) {
+            return;
+        }
+        EntityStoreListener<T> attachedJournal = journal;
+        if (attachedJournal != null) {
+            attachedJournal.committed();
+        }
+        for (EntityStoreListener<T> listener : listeners) {
+            listener.committed();
+        }
+    }
+
+    private boolean isBatchInProgress() {
+        return stripes[0].isHeldByCurrentThread() && stripes[STRIPE_COUNT - 1].isHeldByCurrentThread();
+    }
+
+    private ReentrantLock stripeFor(Long id) {
+        return stripes[Math.floorMod(Long.hashCode(id), STRIPE_COUNT)];
+    }
+
+    private void lockAll() {
+        for (ReentrantLock stripe : stripes) {
+            stripe.lock();
+        }
+    }
+
+    private void unlockAll() {
+        for (int i = STRIPE_COUNT - 1; i >= 0; i--) {
+            stripes[i].unlock();
+        }
+    }
+}
@@ -1,87 +1,496 @@
 package com.thoughtworks.springbootemployee.repository;
 
+import com.thoughtworks.springbootemployee.changes.ChangeLog;
 import com.thoughtworks.springbootemployee.exception.EmployeeNotFoundException;
+import com.thoughtworks.springbootemployee.exception.EmployeeUpdateException;
+import com.thoughtworks.springbootemployee.exception.InvalidPageLimitException;
+import com.thoughtworks.springbootemployee.exception.VersionConflictException;
+import com.thoughtworks.springbootemployee.metrics.OperationTimer;
+import com.thoughtworks.springbootemployee.metrics.StoreGauges;
+import com.thoughtworks.springbootemployee.model.CursorPage;
 import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.model.PayrollStats;
+import com.thoughtworks.springbootemployee.persistence.ColumnarEmployeeSnapshotFile;
+import com.thoughtworks.springbootemployee.persistence.EmployeeCodec;
+import com.thoughtworks.springbootemployee.persistence.EntityJournal;
+import com.thoughtworks.springbootemployee.persistence.EntityJournalFactory;
+import com.thoughtworks.springbootemployee.query.AndQuery;
+import com.thoughtworks.springbootemployee.query.EmployeeQuery;
+import com.thoughtworks.springbootemployee.query.FieldQuery;
+import com.thoughtworks.springbootemployee.query.OrQuery;
+import com.thoughtworks.springbootemployee.query.QueryField;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Repository
+@EnableConfigurationProperties(StorageProperties.class)
 public class EmployeeRepository {
 
-    private static final List<Employee> employees = new ArrayList<>();
     public static final long EMPTY_LIST_SIZE = 0L;
-    public static final int ID_INCREMENT = 1;
+    private static final String ENTITY = "employees";
+    private static final String LAYER = "repository";
+    private static final int PARALLEL_SCAN_THRESHOLD = 100_000;
+    private static final long UNINDEXED = -1L;
 
-    static {
-        employees.add(new Employee(1L, "Alice", 30, "Female", 5000, 1L));
-        employees.add(new Employee(2L, "Bob", 31, "Male", 5000, 2L));
-        employees.add(new Employee(3L, "Carl", 32, "Male", 5000, 1L));
-        employees.add(new Employee(4L, "David", 33, "Male", 5000, 2L));
-        employees.add(new Employee(5L, "Ellen", 34, "Female", 5000, 3L));
+    private final ConcurrentEntityStore<Employee> employees;
+    private final SecondaryIndex<Employee, String> genderIndex = new SecondaryIndex<>(Employee::getId, Employee::getGender);
+    private final SecondaryIndex<Employee, Long> companyIndex = new SecondaryIndex<>(Employee::getId, Employee::getCompanyId);
+    private final SortedIndex<Employee, Integer> salaryIndex = new SortedIndex<>(Employee::getId, Employee::getSalary);
+    private final SortedIndex<Employee, Integer> ageIndex = new SortedIndex<>(Employee::getId, Employee::getAge);
+    private final PayrollStatistics payrollStatistics = new PayrollStatistics();
+    private final ActivityCounter<Employee> activityCounter = new ActivityCounter<>(Employee::isInactive);
+    private final IdGenerator idGenerator;
+    private final OperationTimer lookupTimer;
+    private final OperationTimer scanTimer;
+    private final OperationTimer genderTimer;
+    private final OperationTimer companyTimer;
+    private final OperationTimer companiesTimer;
+    private final OperationTimer pageTimer;
+    private final OperationTimer cursorTimer;
+    private final OperationTimer addTimer;
+    private final OperationTimer updateTimer;
+    private final OperationTimer deactivateTimer;
+    private final OperationTimer batchDeactivateTimer;
+    private final OperationTimer queryTimer;
+    private final OperationTimer sortedTimer;
+    private final OperationTimer rangeTimer;
+
+    public EmployeeRepository() {
+        this(new AtomicIdGenerator(), EntityJournal.disabled());
+    }
+
+    @Autowired
+    public EmployeeRepository(IdGeneratorFactory idGeneratorFactory, EntityJournalFactory journalFactory,
+                              StorageProperties storageProperties, ChangeLog changeLog, MeterRegistry meterRegistry) {
+        this(idGeneratorFactory.create(ENTITY), journalFactory.open(ENTITY, new EmployeeCodec(), Employee::getId,
+                ColumnarEmployeeSnapshotFile::new), storageProperties.getEmployees(), meterRegistry);
+        changeLog.attach(ENTITY, employees, Employee::getId, Employee::getVersion, Employee::isInactive,
+                Employee::copy);
+    }
+
+    public EmployeeRepository(IdGenerator idGenerator, EntityJournal<Employee> journal) {
+        this(idGenerator, journal, Metrics.globalRegistry);
+    }
+
+    public EmployeeRepository(IdGenerator idGenerator, EntityJournal<Employee> journal, MeterRegistry meterRegistry) {
+        this(idGenerator, journal, StorageMode.HEAP, meterRegistry);
+    }
+
+    public EmployeeRepository(IdGenerator idGenerator, EntityJournal<Employee> journal, StorageMode storageMode,
+                              MeterRegistry meterRegistry) {
+        this.employees = new ConcurrentEntityStore<>(Employee::getId, Employee::copy,
+                storageMode.createEmployeeStorage());
+        this.idGenerator = idGenerator;
+        this.lookupTimer = new OperationTimer(meterRegistry, LAYER, ENTITY, "lookup");
+        this.scanTimer = new OperationTimer(meterRegistry, LAYER, ENTITY, "scan");
+        this.genderTimer = new OperationTimer(meterRegistry, LAYER, ENTITY, "find-by-gender");
+        this.companyTimer = new OperationTimer(meterRegistry, LAYER, ENTITY, "find-by-company");
+        this.companiesTimer = new OperationTimer(meterRegistry, LAYER, ENTITY, "find-by-companies");
+        this.pageTimer = new OperationTimer(meterRegistry, LAYER, ENTITY, "page");
+        this.cursorTimer = new OperationTimer(meterRegistry, LAYER, ENTITY, "cursor-page");
+        this.addTimer = new OperationTimer(meterRegistry, LAYER, ENTITY, "add");
+        this.updateTimer = new OperationTimer(meterRegistry, LAYER, ENTITY, "update");
+        this.deactivateTimer = new OperationTimer(meterRegistry, LAYER, ENTITY, "deactivate");
+        this.batchDeactivateTimer = new OperationTimer(meterRegistry, LAYER, ENTITY, "batch-deactivate");
+        this.queryTimer = new OperationTimer(meterRegistry, LAYER, ENTITY, "query");
+        this.sortedTimer = new OperationTimer(meterRegistry, LAYER, ENTITY, "sorted");
+        this.rangeTimer = new OperationTimer(meterRegistry, LAYER, ENTITY, "range");
+        employees.addListener(genderIndex);
+        employees.addListener(companyIndex);
+        employees.addListener(salaryIndex);
+        employees.addListener(ageIndex);
+        employees.addListener(activityCounter);
+        employees.addListener(payrollStatistics);
+        StoreGauges.register(meterRegistry, ENTITY, employees, activityCounter);
+        Optional<Stream<Employee>> recoveredEmployees = journal.recover();
+        recoveredEmployees.ifPresent(employees::load);
+        journal.attach(employees);
+        if (recoveredEmployees.isEmpty()) {
+            insertFirstVersion(new Employee(1L, "Alice", 30, "Female", 5000, 1L));
+            insertFirstVersion(new Employee(2L, "Bob", 31, "Male", 5000, 2L));
+            insertFirstVersion(new Employee(3L, "Carl", 32, "Male", 5000, 1L));
+            insertFirstVersion(new Employee(4L, "David", 33, "Male", 5000, 2L));
+            insertFirstVersion(new Employee(5L, "Ellen", 34, "Female", 5000, 3L));
+        }
+        idGenerator.reset(findLastUsedId());
     }
 
     public List<Employee> getAllEmployees() {
-        return employees;
+        long start = scanTimer.start();
+        try {
+            return employees.findAll();
+        } finally {
+            scanTimer.stop(start);
+        }
+    }
+
+    public Stream<Employee> streamAllEmployees() {
+        return employees.stream();
     }
 
     public Employee findEmployeeById(Long id) {
-        return employees.stream()
-                .filter(employee -> employee.getId().equals(id))
-                .findFirst()
-                .orElseThrow(EmployeeNotFoundException::new);
+        long start = lookupTimer.start();
+        try {
+            return employees.findById(id)
+                    .orElseThrow(EmployeeNotFoundException::new);
+        } catch (EmployeeNotFoundException exception) {
+            lookupTimer.failed();
+            throw exception;
+        } finally {
+            lookupTimer.stop(start);
+        }
     }
 
     public List<Employee> findEmployeeByGender(String gender) {
-        return employees.stream()
-                .filter(employee -> employee.getGender().equals(gender))
-                .collect(Collectors.toList());
+        long start = genderTimer.start();
+        try {
+            return streamEmployeesByGender(gender)
+                    .collect(Collectors.toList());
+        } finally {
+            genderTimer.stop(start);
+        }
+    }
+
+    public Stream<Employee> streamEmployeesByGender(String gender) {
+        return employees.findAllById(genderIndex.findIds(gender))
+                .filter(employee -> gender.equals(employee.getGender()));
     }
 
     public Employee addEmployee(Employee employee) {
-        Long id = generateNextEmployeeId();
-        Employee newEmployee = new Employee(
-                id,
-                employee.getName(),
-                employee.getAge(),
-                employee.getGender(),
-                employee.getSalary(),
-                employee.getCompanyId());
+        long start = addTimer.start();
+        try {
+            Long id = idGenerator.nextId();
+            Employee newEmployee = new Employee(
+                    id,
+                    employee.getName(),
+                    employee.getAge(),
+                    employee.getGender(),
+                    employee.getSalary(),
+                    employee.getCompanyId());
+
+            return insertFirstVersion(newEmployee);
+        } finally {
+            addTimer.stop(start);
+        }
+    }
+
+    private Employee insertFirstVersion(Employee employee) {
+        employee.setVersion(Employee.INITIAL_VERSION);
+        return employees.insert(employee);
+    }
 
-        employees.add(newEmployee);
-        return newEmployee;
+    public long getCollectionVersion() {
+        return employees.getVersion();
     }
 
-    private Long generateNextEmployeeId() {
-        return employees.stream()
-                .mapToLong(Employee::getId)
-                .max()
-                .orElse(EMPTY_LIST_SIZE) + ID_INCREMENT;
+    private long findLastUsedId() {
+        return employees.findLastId()
+                .orElse(EMPTY_LIST_SIZE);
     }
 
     public List<Employee> listEmployeesByPage(Long pageNumber, Long pageSize) {
-        return employees.stream()
-                .skip((pageNumber - 1) * pageSize)
-                .limit(pageSize)
-                .collect(Collectors.toList());
+        long start = pageTimer.start();
+        try {
+            return employees.stream()
+                    .skip((pageNumber - 1) * pageSize)
+                    .limit(pageSize)
+                    .collect(Collectors.toList());
+        } finally {
+            pageTimer.stop(start);
+        }
+    }
+
+    public CursorPage<Employee> listEmployeesAfter(Long after, Integer limit) {
+        if (limit < 1) {
+            throw new InvalidPageLimitException();
+        }
+        long start = cursorTimer.start();
+        try {
+            return employees.findPageAfter(after, limit);
+        } finally {
+            cursorTimer.stop(start);
+        }
     }
 
     public Employee updateEmployee(Long id, Employee newEmployeeInfo) {
-        Employee employee = findEmployeeById(id);
-        employee.setAge(newEmployeeInfo.getAge());
-        employee.setSalary(newEmployeeInfo.getSalary());
-        return employee;
+        return updateEmployee(id, newEmployeeInfo, null);
+    }
+
+    /**
+     * @param expectedVersion the version the update is based on, or {@code null} to update any version
+     * @throws EmployeeUpdateException when the employee has been deactivated
+     */
+    public Employee updateEmployee(Long id, Employee newEmployeeInfo, Long expectedVersion) {
+        long start = updateTimer.start();
+        try {
+            return employees.update(id, employee -> {
+                        if (Boolean.TRUE.equals(employee.isInactive())) {
+                            throw new EmployeeUpdateException();
+                        }
+                        if (expectedVersion != null && !expectedVersion.equals(employee.getVersion())) {
+                            throw new VersionConflictException();
+                        }
+                        employee.incrementVersion();
+                        employee.setAge(newEmployeeInfo.getAge());
+                        employee.setSalary(newEmployeeInfo.getSalary());
+                    })
+                    .orElseThrow(EmployeeNotFoundException::new);
+        } catch (EmployeeNotFoundException | EmployeeUpdateException | VersionConflictException exception) {
+            updateTimer.failed();
+            throw exception;
+        } finally {
+            updateTimer.stop(start);
+        }
+    }
+
+    public Employee deactivateEmployee(Long id) {
+        long start = deactivateTimer.start();
+        try {
+            return employees.update(id, employee -> {
+                        employee.incrementVersion();
+                        employee.setActive(Boolean.FALSE);
+                    })
+                    .orElseThrow(EmployeeNotFoundException::new);
+        } catch (EmployeeNotFoundException exception) {
+            deactivateTimer.failed();
+            throw exception;
+        } finally {
+            deactivateTimer.stop(start);
+        }
     }
 
     public List<Employee> findEmployeesByCompanyId(Long id) {
-        return employees.stream()
-                .filter(employee -> employee.getCompanyId().equals(id))
-                .collect(Collectors.toList());
+        long start = companyTimer.start();
+        try {
+            return streamEmployeesByCompanyId(id)
+                    .collect(Collectors.toList());
+        } finally {
+            companyTimer.stop(start);
+        }
+    }
+
+    public Stream<Employee> streamEmployeesByCompanyId(Long id) {
+        return employees.findAllById(companyIndex.findIds(id))
+                .filter(employee -> id.equals(employee.getCompanyId()));
+    }
+
+    /**
+     * Resolves the staff of several companies through the company index, touching only their
+     * employees instead of scanning the whole store once per company.
+     */
+    public Map<Long, List<Employee>> findEmployeesByCompanyIds(Collection<Long> companyIds) {
+        long start = companiesTimer.start();
+        try {
+            Map<Long, List<Employee>> employeesByCompanyId = new HashMap<>();
+            for (Long companyId : companyIds) {
+                employeesByCompanyId.put(companyId, streamEmployeesByCompanyId(companyId)
+                        .collect(Collectors.toList()));
+            }
+            return employeesByCompanyId;
+        } finally {
+            companiesTimer.stop(start);
+        }
+    }
+
+    public List<Long> findEmployeeIdsByCompanyId(Long id) {
+        return new ArrayList<>(companyIndex.findIds(id));
+    }
+
+    /**
+     * Soft-deletes the given employees as one batch: every lock stripe is taken once and the journal
+     * sees a single commit. Employees already inactive or gone are skipped.
+     *
+     * @return the ids that were deactivated
+     */
+    public List<Long> deactivateEmployees(Collection<Long> ids) {
+        long start = batchDeactivateTimer.start();
+        try {
+            return employees.batch(() -> {
+                List<Long> deactivatedIds = new ArrayList<>();
+                for (Long id : ids) {
+                    if (employees.findById(id).filter(employee -> !employee.isInactive()).isEmpty()) {
+                        continue;
+                    }
+                    employees.update(id, employee -> {
+                        employee.incrementVersion();
+                        employee.setActive(Boolean.FALSE);
+                    });
+                    deactivatedIds.add(id);
+                }
+                return deactivatedIds;
+            });
+        } finally {
+            batchDeactivateTimer.stop(start);
+        }
+    }
+
+    public List<Employee> findEmployees(EmployeeQuery query) {
+        long start = queryTimer.start();
+        try {
+            return streamEmployees(query)
+                    .collect(Collectors.toList());
+        } finally {
+            queryTimer.stop(start);
+        }
+    }
+
+    public List<Employee> listEmployeesSortedBy(QueryField field, boolean descending, long limit) {
+        long start = sortedTimer.start();
+        try {
+            List<Long> ids = sortedIndexOf(field).findIds(null, false, null, false, descending)
+                    .limit(limit)
+                    .collect(Collectors.toList());
+            return employees.findAllById(ids)
+                    .collect(Collectors.toList());
+        } finally {
+            sortedTimer.stop(start);
+        }
+    }
+
+    public List<Employee> findEmployeesInRange(QueryField field, Integer min, Integer max, long limit) {
+        long start = rangeTimer.start();
+        try {
+            FieldQuery rangeQuery = new FieldQuery(field, min, true, max, true);
+            List<Long> ids = sortedIndexOf(field).findIds(min, true, max, true, false)
+                    .limit(limit)
+                    .collect(Collectors.toList());
+            return employees.findAllById(ids, rangeQuery::matches)
+                    .collect(Collectors.toList());
+        } finally {
+            rangeTimer.stop(start);
+        }
+    }
+
+    /**
+     * Plans the query against the indexes: equality on gender and companyId uses the hash indexes,
+     * any comparison on salary or age the sorted ones. An AND uses its most selective indexed operand,
+     * an OR the union of its operands when all of them are indexed. Candidates are always re-checked
+     * against the full query. Queries no index narrows to at most half the table are answered by a
+     * scan, which runs in parallel on large tables.
+     */
+    public Stream<Employee> streamEmployees(EmployeeQuery query) {
+        long estimatedMatches = estimateIndexedMatches(query);
+        if (estimatedMatches != UNINDEXED && estimatedMatches * 2 <= employees.size()) {
+            return employees.findAllById(findCandidateIds(query), query::matches);
+        }
+        return employees.scan(query::matches, employees.size() >= PARALLEL_SCAN_THRESHOLD);
+    }
+
+    private long estimateIndexedMatches(EmployeeQuery query) {
+        if (query instanceof FieldQuery fieldQuery) {
+            if (fieldQuery.getField().isOrdered()) {
+                return sortedIndexOf(fieldQuery.getField()).count(
+                        (Integer) fieldQuery.getLower(), fieldQuery.isLowerInclusive(),
+                        (Integer) fieldQuery.getUpper(), fieldQuery.isUpperInclusive(),
+                        employees.size() / 2 + 1);
+            }
+            if (!fieldQuery.isEquality()) {
+                return UNINDEXED;
+            }
+            if (fieldQuery.getField() == QueryField.GENDER) {
+                return genderIndex.count((String) fieldQuery.getLower());
+            }
+            if (fieldQuery.getField() == QueryField.COMPANY_ID) {
+                return companyIndex.count((Long) fieldQuery.getLower());
+            }
+            return UNINDEXED;
+        }
+        if (query instanceof AndQuery andQuery) {
+            EmployeeQuery mostSelective = findMostSelectiveOperand(andQuery);
+            return mostSelective == null ? UNINDEXED : estimateIndexedMatches(mostSelective);
+        }
+        if (query instanceof OrQuery orQuery) {
+            long total = 0;
+            for (EmployeeQuery operand : orQuery.getOperands()) {
+                long estimate = estimateIndexedMatches(operand);
+                if (estimate == UNINDEXED) {
+                    return UNINDEXED;
+                }
+                total += estimate;
+            }
+            return total;
+        }
+        return UNINDEXED;
+    }
+
+    private NavigableSet<Long> findCandidateIds(EmployeeQuery query) {
+        if (query instanceof FieldQuery fieldQuery && fieldQuery.getField().isOrdered()) {
+            return sortedIndexOf(fieldQuery.getField())
+                    .findIds((Integer) fieldQuery.getLower(), fieldQuery.isLowerInclusive(),
+                            (Integer) fieldQuery.getUpper(), fieldQuery.isUpperInclusive(), false)
+                    .collect(Collectors.toCollection(TreeSet::new));
+        }
+        if (query instanceof FieldQuery fieldQuery) {
+            return fieldQuery.getField() == QueryField.GENDER
+                    ? genderIndex.findIds((String) fieldQuery.getLower())
+                    : companyIndex.findIds((Long) fieldQuery.getLower());
+        }
+        if (query instanceof AndQuery andQuery) {
+            return findCandidateIds(findMostSelectiveOperand(andQuery));
+        }
+        NavigableSet<Long> union = new TreeSet<>();
+        for (EmployeeQuery operand : ((OrQuery) query).getOperands()) {
+            union.addAll(findCandidateIds(operand));
+        }
+        return union;
+    }
+
+    private SortedIndex<Employee, Integer> sortedIndexOf(QueryField field) {
+        if (field == QueryField.SALARY) {
+            return salaryIndex;
+        }
+        if (field == QueryField.AGE) {
+            return ageIndex;
+        }
+        throw new IllegalArgumentException(field.getFieldName() + " has no sorted index");
+    }
+
+    private EmployeeQuery findMostSelectiveOperand(AndQuery andQuery) {
+        EmployeeQuery mostSelective = null;
+        long smallest = UNINDEXED;
+        for (EmployeeQuery operand : andQuery.getOperands()) {
+            long estimate = estimateIndexedMatches(operand);
+            if (estimate != UNINDEXED && (smallest == UNINDEXED || estimate < smallest)) {
+                mostSelective = operand;
+                smallest = estimate;
+            }
+        }
+        return mostSelective;
+    }
+
+    public PayrollStats getPayrollStats() {
+        return payrollStatistics.getTotal();
+    }
+
+    public PayrollStats getPayrollStatsByCompanyId(Long companyId) {
+        return payrollStatistics.getByCompanyId(companyId);
+    }
+
+    public PayrollStats getPayrollStatsByGender(String gender) {
+        return payrollStatistics.getByGender(gender);
+    }
+
+    public <R> R runInBatch(Supplier<R> writes) {
+        return employees.batch(writes);
     }
 
     public void cleanAll() {
         employees.clear();
+        idGenerator.reset(EMPTY_LIST_SIZE);
     }
 }
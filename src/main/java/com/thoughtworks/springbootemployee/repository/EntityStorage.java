@@ -0,0 +1,55 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.exception.StorageCapacityException;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Where a {@link ConcurrentEntityStore} keeps its published entities. The store serializes writes to
+ * an id and notifies listeners; implementations only decide the memory layout.
+ */
+public interface EntityStorage<T> {
+
+    /**
+     * @return the published version, or {@code null} when no entity has the id
+     */
+    T get(Long id);
+
+    /**
+     * Claims whatever {@link #put} will need to hold the entity, or rejects it. The store calls this
+     * before telling its listeners about the write, so a write the storage cannot hold never reaches
+     * the journal, the indexes or the change feed. Called while the store holds the lock stripe of the id.
+     *
+     * @throws StorageCapacityException when the entity does not fit
+     */
+    default void reserve(Long id, T entity) {
+    }
+
+    /**
+     * Publishes a new version. Called while the store holds the lock stripe of the id, after
+     * {@link #reserve} accepted the entity.
+     */
+    void put(Long id, T entity);
+
+    /**
+     * Published versions in ascending id order; weakly consistent with concurrent writes.
+     */
+    Stream<T> values();
+
+    /**
+     * Published versions with an id greater than {@code after}, in ascending id order.
+     */
+    Stream<T> valuesAfter(Long after);
+
+    Optional<Long> lastId();
+
+    int size();
+
+    void clear();
+
+    /**
+     * Whether every read builds a new instance, so the store may hand it out without copying it.
+     */
+    boolean materializesOnRead();
+}
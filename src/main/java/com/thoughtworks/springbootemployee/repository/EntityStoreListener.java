@@ -0,0 +1,22 @@
+package com.thoughtworks.springbootemployee.repository;
+
+/**
+ * Callback invoked by {@link ConcurrentEntityStore} while it still holds the lock stripe of the
+ * written id, so derived structures stay consistent with the published entities.
+ */
+public interface EntityStoreListener<T> {
+
+    /**
+     * @param previous the replaced version, or {@code null} when the entity was just inserted
+     */
+    void published(T previous, T current);
+
+    void cleared();
+
+    /**
+     * Invoked after the writing thread released its locks, once per single write or once per
+     * {@link ConcurrentEntityStore#batch batch}.
+     */
+    default void committed() {
+    }
+}
@@ -0,0 +1,49 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.exception.StorageCapacityException;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Codes distinct genders as shorts for the primitive employee storages. Encoding must run under the
+ * storage's write lock; decoding is safe from optimistic readers. Codes are never released before
+ * {@link #clear()}, so a gender encoded for a write that later fails keeps its code.
+ */
+class GenderDictionary {
+
+    static final short NULL_CODE = -1;
+
+    private final Map<String, Short> codes = new HashMap<>();
+    private volatile String[] genders = new String[0];
+
+    short encode(String gender) {
+        if (gender == null) {
+            return NULL_CODE;
+        }
+        Short code = codes.get(gender);
+        if (code != null) {
+            return code;
+        }
+        String[] current = genders;
+        if (current.length == Short.MAX_VALUE) {
+            throw new StorageCapacityException("more than " + Short.MAX_VALUE + " distinct genders");
+        }
+        String[] extended = Arrays.copyOf(current, current.length + 1);
+        extended[current.length] = gender;
+        genders = extended;
+        codes.put(gender, (short) current.length);
+        return (short) current.length;
+    }
+
+    String decode(short code) {
+        String[] current = genders;
+        return code >= 0 && code < current.length ? current[code] : null;
+    }
+
+    void clear() {
+        codes.clear();
+        genders = new String[0];
+    }
+}
@@ -0,0 +1,60 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the published entity objects themselves, hashed by id for lookups and in a skip list for
+ * id-ordered scans.
+ */
+public class HeapEntityStorage<T> implements EntityStorage<T> {
+
+    private final Map<Long, T> entitiesById = new ConcurrentHashMap<>();
+    private final NavigableMap<Long, T> entitiesInIdOrder = new ConcurrentSkipListMap<>();
+
+    @Override
+    public T get(Long id) {
+        return entitiesById.get(id);
+    }
+
+    @Override
+    public void put(Long id, T entity) {
+        entitiesById.put(id, entity);
+        entitiesInIdOrder.put(id, entity);
+    }
+
+    @Override
+    public Stream<T> values() {
+        return entitiesInIdOrder.values().stream();
+    }
+
+    @Override
+    public Stream<T> valuesAfter(Long after) {
+        return after == null ? values() : entitiesInIdOrder.tailMap(after, false).values().stream();
+    }
+
+    @Override
+    public Optional<Long> lastId() {
+        return Optional.ofNullable(entitiesInIdOrder.lastEntry()).map(Map.Entry::getKey);
+    }
+
+    @Override
+    public int size() {
+        return entitiesById.size();
+    }
+
+    @Override
+    public void clear() {
+        entitiesById.clear();
+        entitiesInIdOrder.clear();
+    }
+
+    @Override
+    public boolean materializesOnRead() {
+        return false;
+    }
+}
@@ -0,0 +1,39 @@
+package com.thoughtworks.springbootemployee.repository;
+
+/**
+ * Hands out ids from blocks reserved through a shared {@link BlockAllocator}, so several nodes can
+ * allocate ids without colliding while only touching the allocator once per block. Resetting only
+ * drops the local block and advances the allocator; it never rolls the shared high value back, so
+ * ids are not reused after {@code cleanAll} either.
+ */
+public class HiLoIdGenerator implements IdGenerator {
+
+    private final BlockAllocator blockAllocator;
+    private final int blockSize;
+    private long nextId;
+    private long blockLimit;
+
+    public HiLoIdGenerator(BlockAllocator blockAllocator, int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        this.blockAllocator = blockAllocator;
+        this.blockSize = blockSize;
+    }
+
+    @Override
+    public synchronized long nextId() {
+        if (nextId == blockLimit) {
+            nextId = blockAllocator.allocate(blockSize);
+            blockLimit = nextId + blockSize;
+        }
+        return nextId++;
+    }
+
+    @Override
+    public synchronized void reset(long lastUsedId) {
+        blockAllocator.advanceTo(lastUsedId);
+        nextId = 0;
+        blockLimit = 0;
+    }
+}
@@ -0,0 +1,8 @@
+package com.thoughtworks.springbootemployee.repository;
+
+public interface IdGenerator {
+
+    long nextId();
+
+    void reset(long lastUsedId);
+}
@@ -0,0 +1,40 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates the id generator of each repository from the {@code ids.strategy} property. With
+ * {@code hi-lo}, every entity reserves its blocks from its own {@link BlockAllocator}: the one the
+ * {@link BlockAllocatorFactory} bean hands out when one is defined, so nodes sharing it never collide,
+ * and a local allocator otherwise. Entities never draw from each other's blocks.
+ */
+@Component
+@EnableConfigurationProperties(IdProperties.class)
+public class IdGeneratorFactory {
+
+    private final IdProperties properties;
+    private final BlockAllocatorFactory sharedAllocators;
+    private final Map<String, BlockAllocator> allocators = new ConcurrentHashMap<>();
+
+    public IdGeneratorFactory(IdProperties properties, ObjectProvider<BlockAllocatorFactory> sharedAllocators) {
+        this.properties = properties;
+        this.sharedAllocators = sharedAllocators.getIfAvailable();
+    }
+
+    public IdGenerator create(String entity) {
+        return switch (properties.getStrategy()) {
+            case ATOMIC -> new AtomicIdGenerator();
+            case HI_LO -> new HiLoIdGenerator(allocators.computeIfAbsent(entity, this::createAllocator),
+                    properties.getBlockSize());
+        };
+    }
+
+    private BlockAllocator createAllocator(String entity) {
+        return sharedAllocators != null ? sharedAllocators.forEntity(entity) : new LocalBlockAllocator();
+    }
+}
@@ -0,0 +1,26 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "ids")
+public class IdProperties {
+
+    private IdStrategy strategy = IdStrategy.ATOMIC;
+    private int blockSize = 100;
+
+    public IdStrategy getStrategy() {
+        return strategy;
+    }
+
+    public void setStrategy(IdStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public void setBlockSize(int blockSize) {
+        this.blockSize = blockSize;
+    }
+}
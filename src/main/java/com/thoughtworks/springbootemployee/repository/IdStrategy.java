@@ -0,0 +1,6 @@
+package com.thoughtworks.springbootemployee.repository;
+
+public enum IdStrategy {
+    ATOMIC,
+    HI_LO
+}
@@ -0,0 +1,70 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.CursorPage;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@Repository
+@Profile("reactive")
+public class InMemoryReactiveCompanyRepository implements ReactiveCompanyRepository {
+
+    private final CompanyRepository companyRepository;
+
+    public InMemoryReactiveCompanyRepository(CompanyRepository companyRepository) {
+        this.companyRepository = companyRepository;
+    }
+
+    @Override
+    public Flux<Company> getAllCompanies() {
+        return Flux.fromStream(companyRepository::streamAllCompanies);
+    }
+
+    @Override
+    public Mono<Company> findCompanyById(Long id) {
+        return Mono.fromCallable(() -> companyRepository.findCompanyById(id));
+    }
+
+    @Override
+    public Flux<Company> listCompaniesByPage(Long pageNumber, Long pageSize) {
+        return Flux.fromStream(() -> companyRepository.streamAllCompanies()
+                .skip((pageNumber - 1) * pageSize)
+                .limit(pageSize));
+    }
+
+    @Override
+    public Mono<CursorPage<Company>> listCompaniesAfter(Long after, Integer limit) {
+        return Mono.fromCallable(() -> companyRepository.listCompaniesAfter(after, limit));
+    }
+
+    @Override
+    public Mono<Company> addCompany(Company company) {
+        return Mono.fromCallable(() -> companyRepository.addCompany(company))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<Company> updateCompany(Long id, Company newCompanyInfo) {
+        return updateCompany(id, newCompanyInfo, null);
+    }
+
+    @Override
+    public Mono<Company> updateCompany(Long id, Company newCompanyInfo, Long expectedVersion) {
+        return Mono.fromCallable(() -> companyRepository.updateCompany(id, newCompanyInfo, expectedVersion))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<Company> deactivateCompany(Long id) {
+        return Mono.fromCallable(() -> companyRepository.deactivateCompany(id))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<Long> getCollectionVersion() {
+        return Mono.fromCallable(companyRepository::getCollectionVersion);
+    }
+}
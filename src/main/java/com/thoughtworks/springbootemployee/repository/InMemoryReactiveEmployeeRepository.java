@@ -0,0 +1,126 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.model.CursorPage;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.model.PayrollStats;
+import com.thoughtworks.springbootemployee.query.EmployeeQuery;
+import com.thoughtworks.springbootemployee.query.QueryField;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads run on the subscribing thread since the store never blocks readers. Writes may wait for the
+ * journal to reach disk, so they are moved off the event loop.
+ */
+@Repository
+@Profile("reactive")
+public class InMemoryReactiveEmployeeRepository implements ReactiveEmployeeRepository {
+
+    private final EmployeeRepository employeeRepository;
+
+    public InMemoryReactiveEmployeeRepository(EmployeeRepository employeeRepository) {
+        this.employeeRepository = employeeRepository;
+    }
+
+    @Override
+    public Flux<Employee> getAllEmployees() {
+        return Flux.fromStream(employeeRepository::streamAllEmployees);
+    }
+
+    @Override
+    public Mono<Employee> findEmployeeById(Long id) {
+        return Mono.fromCallable(() -> employeeRepository.findEmployeeById(id));
+    }
+
+    @Override
+    public Flux<Employee> findEmployeeByGender(String gender) {
+        return Flux.fromStream(() -> employeeRepository.streamEmployeesByGender(gender));
+    }
+
+    @Override
+    public Flux<Employee> findEmployees(EmployeeQuery query) {
+        return Flux.fromStream(() -> employeeRepository.streamEmployees(query));
+    }
+
+    @Override
+    public Flux<Employee> listEmployeesSortedBy(QueryField field, boolean descending, long limit) {
+        return Flux.defer(() -> Flux.fromIterable(employeeRepository.listEmployeesSortedBy(field, descending, limit)));
+    }
+
+    @Override
+    public Flux<Employee> findEmployeesInRange(QueryField field, Integer min, Integer max, long limit) {
+        return Flux.defer(() -> Flux.fromIterable(employeeRepository.findEmployeesInRange(field, min, max, limit)));
+    }
+
+    @Override
+    public Mono<Employee> addEmployee(Employee employee) {
+        return Mono.fromCallable(() -> employeeRepository.addEmployee(employee))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Flux<Employee> listEmployeesByPage(Long pageNumber, Long pageSize) {
+        return Flux.fromStream(() -> employeeRepository.streamAllEmployees()
+                .skip((pageNumber - 1) * pageSize)
+                .limit(pageSize));
+    }
+
+    @Override
+    public Mono<CursorPage<Employee>> listEmployeesAfter(Long after, Integer limit) {
+        return Mono.fromCallable(() -> employeeRepository.listEmployeesAfter(after, limit));
+    }
+
+    @Override
+    public Mono<Employee> updateEmployee(Long id, Employee newEmployeeInfo) {
+        return updateEmployee(id, newEmployeeInfo, null);
+    }
+
+    @Override
+    public Mono<Employee> updateEmployee(Long id, Employee newEmployeeInfo, Long expectedVersion) {
+        return Mono.fromCallable(() -> employeeRepository.updateEmployee(id, newEmployeeInfo, expectedVersion))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<Employee> deactivateEmployee(Long id) {
+        return Mono.fromCallable(() -> employeeRepository.deactivateEmployee(id))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<Long> getCollectionVersion() {
+        return Mono.fromCallable(employeeRepository::getCollectionVersion);
+    }
+
+    @Override
+    public Flux<Employee> findEmployeesByCompanyId(Long id) {
+        return Flux.fromStream(() -> employeeRepository.streamEmployeesByCompanyId(id));
+    }
+
+    @Override
+    public Mono<Map<Long, List<Employee>>> findEmployeesByCompanyIds(Collection<Long> companyIds) {
+        return Mono.fromCallable(() -> employeeRepository.findEmployeesByCompanyIds(companyIds));
+    }
+
+    @Override
+    public Mono<PayrollStats> getPayrollStats() {
+        return Mono.fromCallable(employeeRepository::getPayrollStats);
+    }
+
+    @Override
+    public Mono<PayrollStats> getPayrollStatsByCompanyId(Long companyId) {
+        return Mono.fromCallable(() -> employeeRepository.getPayrollStatsByCompanyId(companyId));
+    }
+
+    @Override
+    public Mono<PayrollStats> getPayrollStatsByGender(String gender) {
+        return Mono.fromCallable(() -> employeeRepository.getPayrollStatsByGender(gender));
+    }
+}
@@ -0,0 +1,18 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class LocalBlockAllocator implements BlockAllocator {
+
+    private final AtomicLong lastReservedId = new AtomicLong();
+
+    @Override
+    public long allocate(int blockSize) {
+        return lastReservedId.getAndAdd(blockSize) + 1;
+    }
+
+    @Override
+    public void advanceTo(long lastUsedId) {
+        lastReservedId.accumulateAndGet(lastUsedId, Math::max);
+    }
+}
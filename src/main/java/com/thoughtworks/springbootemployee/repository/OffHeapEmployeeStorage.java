@@ -0,0 +1,182 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.exception.StorageCapacityException;
+import com.thoughtworks.springbootemployee.model.Employee;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Employee storage kept outside the Java heap: every employee is a fixed-width 40-byte record in
+ * direct buffers, and names are UTF-8 bytes appended to an off-heap string area. The heap only
+ * holds the chunk tables and the gender dictionary, so its size and the GC work stay flat as the
+ * row count grows; direct memory is bounded by {@code -XX:MaxDirectMemorySize}.
+ * <p>
+ * A record holds the flags and gender code (2 bytes each), age, salary and name length (4 bytes
+ * each), then company id, name address and version (8 bytes each). Records are grouped in chunks of
+ * 32,768 rows, 1.25 MB of direct memory each, allocated when an id in their range is first written.
+ * Names are never freed individually: a changed name is appended again and the old bytes stay until
+ * {@link #clear()}.
+ */
+public class OffHeapEmployeeStorage extends PrimitiveEmployeeStorage {
+
+    private static final int FLAGS = 0;
+    private static final int GENDER_CODE = 2;
+    private static final int AGE = 4;
+    private static final int SALARY = 8;
+    private static final int NAME_LENGTH = 12;
+    private static final int COMPANY_ID = 16;
+    private static final int NAME_ADDRESS = 24;
+    private static final int VERSION = 32;
+    private static final int RECORD_SIZE = VERSION + Long.BYTES;
+    private static final byte PRESENT = 1;
+    private static final byte ACTIVE_KNOWN = 2;
+    private static final byte ACTIVE_VALUE = 4;
+    private static final int NULL_NAME = -1;
+    private static final int ROWS_PER_CHUNK_SHIFT = 15;
+    private static final int ROWS_PER_CHUNK = 1 << ROWS_PER_CHUNK_SHIFT;
+    private static final int NAME_CHUNK_SHIFT = 22;
+    private static final int NAME_CHUNK_SIZE = 1 << NAME_CHUNK_SHIFT;
+
+    private ByteBuffer[] recordChunks = new ByteBuffer[0];
+    private ByteBuffer[] nameChunks = new ByteBuffer[0];
+    private int nameChunkCount;
+    private int nameChunkPosition = NAME_CHUNK_SIZE;
+
+    @Override
+    public void reserve(Long id, Employee employee) {
+        String name = employee.getName();
+        if (name != null && name.length() * 3L > NAME_CHUNK_SIZE
+                && name.getBytes(StandardCharsets.UTF_8).length > NAME_CHUNK_SIZE) {
+            throw new StorageCapacityException("employee name longer than " + NAME_CHUNK_SIZE + " bytes");
+        }
+        super.reserve(id, employee);
+    }
+
+    @Override
+    Employee readRow(int row) {
+        ByteBuffer[] chunks = recordChunks;
+        int chunkIndex = row >>> ROWS_PER_CHUNK_SHIFT;
+        if (chunkIndex >= chunks.length || chunks[chunkIndex] == null) {
+            return null;
+        }
+        ByteBuffer records = chunks[chunkIndex];
+        int record = recordOffset(row);
+        byte flags = records.get(record + FLAGS);
+        if ((flags & PRESENT) == 0) {
+            return null;
+        }
+        return materialize(row, readName(records.getInt(record + NAME_LENGTH), records.getLong(record + NAME_ADDRESS)),
+                records.getInt(record + AGE), records.getShort(record + GENDER_CODE), records.getInt(record + SALARY),
+                records.getLong(record + COMPANY_ID),
+                (flags & ACTIVE_KNOWN) == 0 ? null : (flags & ACTIVE_VALUE) != 0, records.getLong(record + VERSION));
+    }
+
+    @Override
+    boolean writeRow(int row, Employee employee) {
+        ByteBuffer records = recordChunkFor(row);
+        int record = recordOffset(row);
+        byte previousFlags = records.get(record + FLAGS);
+        boolean inserted = (previousFlags & PRESENT) == 0;
+        byte[] name = employee.getName() == null ? null : employee.getName().getBytes(StandardCharsets.UTF_8);
+        if (inserted || !hasName(records, record, name)) {
+            writeName(records, record, name);
+        }
+        records.putShort(record + GENDER_CODE, genders.encode(employee.getGender()));
+        records.putInt(record + AGE, encodeInt(employee.getAge()));
+        records.putInt(record + SALARY, encodeInt(employee.getSalary()));
+        records.putLong(record + COMPANY_ID, encodeLong(employee.getCompanyId()));
+        records.putLong(record + VERSION, encodeLong(employee.getVersion()));
+        byte flags = PRESENT;
+        if (employee.isActive() != null) {
+            flags |= ACTIVE_KNOWN;
+            if (employee.isActive()) {
+                flags |= ACTIVE_VALUE;
+            }
+        }
+        records.put(record + FLAGS, flags);
+        return inserted;
+    }
+
+    @Override
+    void clearRows() {
+        recordChunks = new ByteBuffer[0];
+        nameChunks = new ByteBuffer[0];
+        nameChunkCount = 0;
+        nameChunkPosition = NAME_CHUNK_SIZE;
+    }
+
+    private ByteBuffer recordChunkFor(int row) {
+        int chunkIndex = row >>> ROWS_PER_CHUNK_SHIFT;
+        ByteBuffer[] chunks = recordChunks;
+        if (chunkIndex >= chunks.length) {
+            chunks = Arrays.copyOf(chunks, Math.max(chunkIndex + 1, chunks.length * 2));
+        }
+        if (chunks[chunkIndex] == null) {
+            chunks[chunkIndex] = ByteBuffer.allocateDirect(ROWS_PER_CHUNK * RECORD_SIZE);
+        }
+        recordChunks = chunks;
+        return chunks[chunkIndex];
+    }
+
+    private boolean hasName(ByteBuffer records, int record, byte[] name) {
+        int length = records.getInt(record + NAME_LENGTH);
+        if (name == null || length == NULL_NAME) {
+            return name == null && length == NULL_NAME;
+        }
+        if (length != name.length) {
+            return false;
+        }
+        long address = records.getLong(record + NAME_ADDRESS);
+        ByteBuffer names = nameChunks[(int) (address >>> NAME_CHUNK_SHIFT)];
+        int position = (int) (address & (NAME_CHUNK_SIZE - 1));
+        for (int i = 0; i < length; i++) {
+            if (names.get(position + i) != name[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void writeName(ByteBuffer records, int record, byte[] name) {
+        if (name == null) {
+            records.putInt(record + NAME_LENGTH, NULL_NAME);
+            return;
+        }
+        if (name.length > NAME_CHUNK_SIZE) {
+            throw new StorageCapacityException("employee name longer than " + NAME_CHUNK_SIZE + " bytes");
+        }
+        if (NAME_CHUNK_SIZE - nameChunkPosition < name.length) {
+            if (nameChunkCount == nameChunks.length) {
+                nameChunks = Arrays.copyOf(nameChunks, Math.max(1, nameChunks.length * 2));
+            }
+            nameChunks[nameChunkCount++] = ByteBuffer.allocateDirect(NAME_CHUNK_SIZE);
+            nameChunkPosition = 0;
+        }
+        int chunkIndex = nameChunkCount - 1;
+        nameChunks[chunkIndex].put(nameChunkPosition, name);
+        records.putLong(record + NAME_ADDRESS, ((long) chunkIndex << NAME_CHUNK_SHIFT) | nameChunkPosition);
+        records.putInt(record + NAME_LENGTH, name.length);
+        nameChunkPosition += name.length;
+    }
+
+    private String readName(int length, long address) {
+        if (length < 0 || length > NAME_CHUNK_SIZE) {
+            return null;
+        }
+        ByteBuffer[] chunks = nameChunks;
+        long chunkIndex = address >>> NAME_CHUNK_SHIFT;
+        int position = (int) (address & (NAME_CHUNK_SIZE - 1));
+        if (chunkIndex >= chunks.length || chunks[(int) chunkIndex] == null || position + length > NAME_CHUNK_SIZE) {
+            return null;
+        }
+        byte[] name = new byte[length];
+        chunks[(int) chunkIndex].get(position, name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    private static int recordOffset(int row) {
+        return (row & (ROWS_PER_CHUNK - 1)) * RECORD_SIZE;
+    }
+}
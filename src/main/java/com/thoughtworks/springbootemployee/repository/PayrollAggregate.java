@@ -0,0 +1,80 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.model.PayrollStats;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Running payroll figures of one group of employees. Salaries are kept as a counted multiset so the
+ * minimum and maximum survive removals without rescanning the group.
+ */
+class PayrollAggregate {
+
+    private static final int AGE_BUCKET_WIDTH = 10;
+
+    private long headcount;
+    private long totalSalary;
+    private long salaryCount;
+    private final TreeMap<Integer, Long> salaryCounts = new TreeMap<>();
+    private final TreeMap<Integer, Long> ageBucketCounts = new TreeMap<>();
+
+    synchronized void add(Employee employee) {
+        headcount++;
+        if (employee.getSalary() != null) {
+            totalSalary += employee.getSalary();
+            salaryCount++;
+            salaryCounts.merge(employee.getSalary(), 1L, Long::sum);
+        }
+        if (employee.getAge() != null) {
+            ageBucketCounts.merge(ageBucket(employee.getAge()), 1L, Long::sum);
+        }
+    }
+
+    synchronized void remove(Employee employee) {
+        headcount--;
+        if (employee.getSalary() != null) {
+            totalSalary -= employee.getSalary();
+            salaryCount--;
+            decrement(salaryCounts, employee.getSalary());
+        }
+        if (employee.getAge() != null) {
+            decrement(ageBucketCounts, ageBucket(employee.getAge()));
+        }
+    }
+
+    synchronized void reset() {
+        headcount = 0;
+        totalSalary = 0;
+        salaryCount = 0;
+        salaryCounts.clear();
+        ageBucketCounts.clear();
+    }
+
+    synchronized PayrollStats toStats() {
+        Map<String, Long> ageDistribution = new LinkedHashMap<>();
+        ageBucketCounts.forEach((bucket, count) ->
+                ageDistribution.put(bucket + "-" + (bucket + AGE_BUCKET_WIDTH - 1), count));
+        return new PayrollStats(
+                headcount,
+                totalSalary,
+                salaryCount == 0 ? null : (double) totalSalary / salaryCount,
+                salaryCounts.isEmpty() ? null : salaryCounts.firstKey(),
+                salaryCounts.isEmpty() ? null : salaryCounts.lastKey(),
+                ageDistribution);
+    }
+
+    static PayrollStats emptyStats() {
+        return new PayrollAggregate().toStats();
+    }
+
+    private static int ageBucket(int age) {
+        return age / AGE_BUCKET_WIDTH * AGE_BUCKET_WIDTH;
+    }
+
+    private static void decrement(Map<Integer, Long> counts, Integer key) {
+        counts.computeIfPresent(key, (ignored, count) -> count == 1 ? null : count - 1);
+    }
+}
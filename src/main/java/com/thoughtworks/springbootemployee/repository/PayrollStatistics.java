@@ -0,0 +1,74 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.model.PayrollStats;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Payroll aggregates of the active employees, overall and per company and gender. Every published
+ * version moves the employee out of the groups of its previous version and into the groups of the
+ * new one, so soft-deleted employees drop out and stats queries never scan.
+ */
+public class PayrollStatistics implements EntityStoreListener<Employee> {
+
+    private final PayrollAggregate total = new PayrollAggregate();
+    private final Map<Long, PayrollAggregate> byCompanyId = new ConcurrentHashMap<>();
+    private final Map<String, PayrollAggregate> byGender = new ConcurrentHashMap<>();
+
+    public PayrollStats getTotal() {
+        return total.toStats();
+    }
+
+    public PayrollStats getByCompanyId(Long companyId) {
+        PayrollAggregate aggregate = byCompanyId.get(companyId);
+        return aggregate == null ? PayrollAggregate.emptyStats() : aggregate.toStats();
+    }
+
+    public PayrollStats getByGender(String gender) {
+        PayrollAggregate aggregate = byGender.get(gender);
+        return aggregate == null ? PayrollAggregate.emptyStats() : aggregate.toStats();
+    }
+
+    @Override
+    public void published(Employee previous, Employee current) {
+        if (previous != null && isCounted(previous)) {
+            remove(previous);
+        }
+        if (isCounted(current)) {
+            add(current);
+        }
+    }
+
+    @Override
+    public void cleared() {
+        total.reset();
+        byCompanyId.clear();
+        byGender.clear();
+    }
+
+    private void add(Employee employee) {
+        total.add(employee);
+        if (employee.getCompanyId() != null) {
+            byCompanyId.computeIfAbsent(employee.getCompanyId(), companyId -> new PayrollAggregate()).add(employee);
+        }
+        if (employee.getGender() != null) {
+            byGender.computeIfAbsent(employee.getGender(), gender -> new PayrollAggregate()).add(employee);
+        }
+    }
+
+    private void remove(Employee employee) {
+        total.remove(employee);
+        if (employee.getCompanyId() != null) {
+            byCompanyId.get(employee.getCompanyId()).remove(employee);
+        }
+        if (employee.getGender() != null) {
+            byGender.get(employee.getGender()).remove(employee);
+        }
+    }
+
+    private static boolean isCounted(Employee employee) {
+        return !employee.isInactive();
+    }
+}
@@ -0,0 +1,180 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.exception.StorageCapacityException;
+import com.thoughtworks.springbootemployee.model.Employee;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.locks.StampedLock;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Base for employee storages that keep rows as primitive fields instead of objects and materialize
+ * an {@link Employee} on every read.
+ * <p>
+ * Ids address the rows directly, which suits the dense ids handed out by the id generators; unused
+ * ids cost an empty slot. To keep a sparse id from allocating slots for ids nobody uses, a new id may
+ * only exceed {@link #MIN_ID_SPAN} as far as {@link #MAX_SPARSITY} slots per stored employee. Writes are serialized by one lock, since a row spans several fields that
+ * must change together. Reads are optimistic and only retry under the read lock when they raced a
+ * write, so {@link #readRow} must tolerate torn state without throwing.
+ */
+abstract class PrimitiveEmployeeStorage implements EntityStorage<Employee> {
+
+    static final int NULL_INT = Integer.MIN_VALUE;
+    static final long NULL_LONG = Long.MIN_VALUE;
+    static final int MAX_ROWS = Integer.MAX_VALUE - 8;
+    static final long MIN_ID_SPAN = 1L << 20;
+    static final long MAX_SPARSITY = 4L;
+
+    final GenderDictionary genders = new GenderDictionary();
+    private final StampedLock lock = new StampedLock();
+    private volatile int size;
+    private volatile int highestRow = -1;
+
+    /**
+     * @return the materialized row, or {@code null} when it is absent or was read torn
+     */
+    abstract Employee readRow(int row);
+
+    /**
+     * Called under the write lock.
+     *
+     * @return whether the row was absent before
+     */
+    abstract boolean writeRow(int row, Employee employee);
+
+    /**
+     * Called under the write lock.
+     */
+    abstract void clearRows();
+
+    @Override
+    public Employee get(Long id) {
+        if (id == null || id < 0 || id > highestRow) {
+            return null;
+        }
+        return read((int) id.longValue());
+    }
+
+    /**
+     * Checks the id and encodes the gender up front, so an id too sparse for the rows or the
+     * dictionary filling up rejects the write before anything else has seen it.
+     */
+    @Override
+    public void reserve(Long id, Employee employee) {
+        checkRow(id);
+        if (id > highestRow && id >= Math.max(MIN_ID_SPAN, MAX_SPARSITY * (size + 1L))) {
+            throw new StorageCapacityException("primitive employee storage cannot hold id " + id + " among "
+                    + size + " employees");
+        }
+        long stamp = lock.writeLock();
+        try {
+            genders.encode(employee.getGender());
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void put(Long id, Employee employee) {
+        checkRow(id);
+        int row = (int) id.longValue();
+        long stamp = lock.writeLock();
+        try {
+            if (writeRow(row, employee)) {
+                size++;
+            }
+            highestRow = Math.max(highestRow, row);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private static void checkRow(Long id) {
+        if (id == null || id < 0 || id >= MAX_ROWS) {
+            throw new StorageCapacityException("primitive employee storage cannot hold id " + id);
+        }
+    }
+
+    @Override
+    public Stream<Employee> values() {
+        return rowsFrom(0);
+    }
+
+    @Override
+    public Stream<Employee> valuesAfter(Long after) {
+        if (after == null || after < 0) {
+            return values();
+        }
+        return after >= highestRow ? Stream.empty() : rowsFrom((int) after.longValue() + 1);
+    }
+
+    @Override
+    public Optional<Long> lastId() {
+        int row = highestRow;
+        return row < 0 ? Optional.empty() : Optional.of((long) row);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            clearRows();
+            genders.clear();
+            size = 0;
+            highestRow = -1;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean materializesOnRead() {
+        return true;
+    }
+
+    Employee materialize(int row, String name, int age, short genderCode, int salary, long companyId,
+                         Boolean active, long version) {
+        Employee employee = new Employee((long) row, name, age == NULL_INT ? null : age, genders.decode(genderCode),
+                salary == NULL_INT ? null : salary, companyId == NULL_LONG ? null : companyId);
+        employee.setActive(active);
+        employee.setVersion(version == NULL_LONG ? null : version);
+        return employee;
+    }
+
+    static int encodeInt(Integer value) {
+        return value == null ? NULL_INT : value;
+    }
+
+    static long encodeLong(Long value) {
+        return value == null ? NULL_LONG : value;
+    }
+
+    private Stream<Employee> rowsFrom(int firstRow) {
+        return IntStream.rangeClosed(firstRow, highestRow)
+                .mapToObj(this::read)
+                .filter(Objects::nonNull);
+    }
+
+    private Employee read(int row) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            Employee employee = readRow(row);
+            if (lock.validate(stamp)) {
+                return employee;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return readRow(row);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.CursorPage;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking mirror of {@link CompanyRepository}.
+ */
+public interface ReactiveCompanyRepository {
+
+    Flux<Company> getAllCompanies();
+
+    Mono<Company> findCompanyById(Long id);
+
+    Flux<Company> listCompaniesByPage(Long pageNumber, Long pageSize);
+
+    Mono<CursorPage<Company>> listCompaniesAfter(Long after, Integer limit);
+
+    Mono<Company> addCompany(Company company);
+
+    Mono<Company> updateCompany(Long id, Company newCompanyInfo);
+
+    Mono<Company> updateCompany(Long id, Company newCompanyInfo, Long expectedVersion);
+
+    Mono<Company> deactivateCompany(Long id);
+
+    Mono<Long> getCollectionVersion();
+}
@@ -0,0 +1,56 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.model.CursorPage;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.model.PayrollStats;
+import com.thoughtworks.springbootemployee.query.EmployeeQuery;
+import com.thoughtworks.springbootemployee.query.QueryField;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-blocking mirror of {@link EmployeeRepository}. Listings are emitted lazily, so a slow subscriber
+ * holds back the read instead of having the whole result buffered for it.
+ */
+public interface ReactiveEmployeeRepository {
+
+    Flux<Employee> getAllEmployees();
+
+    Mono<Employee> findEmployeeById(Long id);
+
+    Flux<Employee> findEmployeeByGender(String gender);
+
+    Flux<Employee> findEmployees(EmployeeQuery query);
+
+    Flux<Employee> listEmployeesSortedBy(QueryField field, boolean descending, long limit);
+
+    Flux<Employee> findEmployeesInRange(QueryField field, Integer min, Integer max, long limit);
+
+    Mono<Employee> addEmployee(Employee employee);
+
+    Flux<Employee> listEmployeesByPage(Long pageNumber, Long pageSize);
+
+    Mono<CursorPage<Employee>> listEmployeesAfter(Long after, Integer limit);
+
+    Mono<Employee> updateEmployee(Long id, Employee newEmployeeInfo);
+
+    Mono<Employee> updateEmployee(Long id, Employee newEmployeeInfo, Long expectedVersion);
+
+    Mono<Employee> deactivateEmployee(Long id);
+
+    Mono<Long> getCollectionVersion();
+
+    Flux<Employee> findEmployeesByCompanyId(Long id);
+
+    Mono<Map<Long, List<Employee>>> findEmployeesByCompanyIds(Collection<Long> companyIds);
+
+    Mono<PayrollStats> getPayrollStats();
+
+    Mono<PayrollStats> getPayrollStatsByCompanyId(Long companyId);
+
+    Mono<PayrollStats> getPayrollStatsByGender(String gender);
+}
@@ -0,0 +1,87 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+
+/**
+ * Maps an attribute value to the ids of the entities holding it. Ids are kept sorted, so lookups
+ * return matches in insertion order just like a scan would. Each key also tracks its id count so the
+ * query planner can compare index selectivity without walking the sets.
+ */
+public class SecondaryIndex<T, K> implements EntityStoreListener<T> {
+
+    private final Function<T, Long> idExtractor;
+    private final Function<T, K> keyExtractor;
+    private final Map<K, Postings> postingsByKey = new ConcurrentHashMap<>();
+
+    public SecondaryIndex(Function<T, Long> idExtractor, Function<T, K> keyExtractor) {
+        this.idExtractor = idExtractor;
+        this.keyExtractor = keyExtractor;
+    }
+
+    public NavigableSet<Long> findIds(K key) {
+        if (key == null) {
+            return Collections.emptyNavigableSet();
+        }
+        Postings postings = postingsByKey.get(key);
+        return postings == null ? Collections.emptyNavigableSet() : postings.ids;
+    }
+
+    public int count(K key) {
+        if (key == null) {
+            return 0;
+        }
+        Postings postings = postingsByKey.get(key);
+        return postings == null ? 0 : postings.size;
+    }
+
+    @Override
+    public void published(T previous, T current) {
+        Long id = idExtractor.apply(current);
+        K currentKey = keyExtractor.apply(current);
+        if (previous != null) {
+            K previousKey = keyExtractor.apply(previous);
+            if (Objects.equals(previousKey, currentKey)) {
+                return;
+            }
+            remove(previousKey, id);
+        }
+        if (currentKey != null) {
+            postingsByKey.compute(currentKey, (key, postings) -> {
+                Postings updatedPostings = postings == null ? new Postings() : postings;
+                if (updatedPostings.ids.add(id)) {
+                    updatedPostings.size++;
+                }
+                return updatedPostings;
+            });
+        }
+    }
+
+    @Override
+    public void cleared() {
+        postingsByKey.clear();
+    }
+
+    private void remove(K key, Long id) {
+        if (key == null) {
+            return;
+        }
+        postingsByKey.computeIfPresent(key, (ignored, postings) -> {
+            if (postings.ids.remove(id)) {
+                postings.size--;
+            }
+            return postings.size == 0 ? null : postings;
+        });
+    }
+
+    private static class Postings {
+
+        private final NavigableSet<Long> ids = new ConcurrentSkipListSet<>();
+        private volatile int size;
+    }
+}
@@ -0,0 +1,108 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Keeps entity ids ordered by an attribute value in a skip list of (value, id) entries, so range
+ * lookups and top-N listings cost O(log n + k). Entities without a value are not indexed.
+ */
+public class SortedIndex<T, K extends Comparable<K>> implements EntityStoreListener<T> {
+
+    private final Function<T, Long> idExtractor;
+    private final Function<T, K> keyExtractor;
+    private final ConcurrentSkipListSet<Entry<K>> entries = new ConcurrentSkipListSet<>();
+
+    public SortedIndex(Function<T, Long> idExtractor, Function<T, K> keyExtractor) {
+        this.idExtractor = idExtractor;
+        this.keyExtractor = keyExtractor;
+    }
+
+    /**
+     * Streams the ids whose value lies within the bounds, ordered by value and then id. A {@code null}
+     * bound leaves that side of the range open.
+     */
+    public Stream<Long> findIds(K lower, boolean lowerInclusive, K upper, boolean upperInclusive, boolean descending) {
+        NavigableSet<Entry<K>> range = range(lower, lowerInclusive, upper, upperInclusive);
+        return (descending ? range.descendingSet() : range).stream().map(entry -> entry.id);
+    }
+
+    /**
+     * Counts the ids within the bounds but stops at {@code limit}, so estimating the selectivity of a
+     * wide range stays cheap.
+     */
+    public long count(K lower, boolean lowerInclusive, K upper, boolean upperInclusive, long limit) {
+        long count = 0;
+        for (Entry<K> ignored : range(lower, lowerInclusive, upper, upperInclusive)) {
+            if (++count >= limit) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public void published(T previous, T current) {
+        Long id = idExtractor.apply(current);
+        K currentKey = keyExtractor.apply(current);
+        if (previous != null) {
+            K previousKey = keyExtractor.apply(previous);
+            if (Objects.equals(previousKey, currentKey)) {
+                return;
+            }
+            if (previousKey != null) {
+                entries.remove(new Entry<>(previousKey, id));
+            }
+        }
+        if (currentKey != null) {
+            entries.add(new Entry<>(currentKey, id));
+        }
+    }
+
+    @Override
+    public void cleared() {
+        entries.clear();
+    }
+
+    private NavigableSet<Entry<K>> range(K lower, boolean lowerInclusive, K upper, boolean upperInclusive) {
+        NavigableSet<Entry<K>> range = entries;
+        if (lower != null) {
+            range = range.tailSet(new Entry<>(lower, lowerInclusive ? Long.MIN_VALUE : Long.MAX_VALUE), true);
+        }
+        if (upper != null) {
+            range = range.headSet(new Entry<>(upper, upperInclusive ? Long.MAX_VALUE : Long.MIN_VALUE), true);
+        }
+        return range;
+    }
+
+    private static final class Entry<K extends Comparable<K>> implements Comparable<Entry<K>> {
+
+        private final K key;
+        private final long id;
+
+        private Entry(K key, long id) {
+            this.key = key;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(Entry<K> other) {
+            int keyComparison = key.compareTo(other.key);
+            return keyComparison != 0 ? keyComparison : Long.compare(id, other.id);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean equals(Object other) {
+            return other instanceof Entry && compareTo((Entry<K>) other) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(key, id);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.model.Employee;
+
+public enum StorageMode {
+    HEAP,
+    COLUMNAR,
+    OFF_HEAP;
+
+    public EntityStorage<Employee> createEmployeeStorage() {
+        return switch (this) {
+            case HEAP -> new HeapEntityStorage<>();
+            case COLUMNAR -> new ColumnarEmployeeStorage();
+            case OFF_HEAP -> new OffHeapEmployeeStorage();
+        };
+    }
+}
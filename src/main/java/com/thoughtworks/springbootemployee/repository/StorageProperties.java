@@ -0,0 +1,17 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "storage")
+public class StorageProperties {
+
+    private StorageMode employees = StorageMode.HEAP;
+
+    public StorageMode getEmployees() {
+        return employees;
+    }
+
+    public void setEmployees(StorageMode employees) {
+        this.employees = employees;
+    }
+}
@@ -1,51 +1,256 @@
 package com.thoughtworks.springbootemployee.service;
 
+import com.thoughtworks.springbootemployee.exception.CompanyNotFoundException;
+import com.thoughtworks.springbootemployee.jobs.EmployeeDeactivationJobs;
+import com.thoughtworks.springbootemployee.metrics.OperationTimer;
+import com.thoughtworks.springbootemployee.model.BatchItemResult;
+import com.thoughtworks.springbootemployee.model.CascadeJob;
 import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.CompanyWithEmployees;
+import com.thoughtworks.springbootemployee.model.CursorPage;
 import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.model.PayrollStats;
 import com.thoughtworks.springbootemployee.repository.CompanyRepository;
 import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 @Service
 public class CompanyService {
 
+    public static final String COMPANY_CACHE = "companies";
+    private static final String LAYER = "service";
+
     private final CompanyRepository companyRepository;
     private final EmployeeRepository employeeRepository;
+    private final EmployeeDeactivationJobs deactivationJobs;
+    private final OperationTimer scanTimer;
+    private final OperationTimer scanWithEmployeesTimer;
+    private final OperationTimer lookupTimer;
+    private final OperationTimer addTimer;
+    private final OperationTimer batchAddTimer;
+    private final OperationTimer employeesTimer;
+    private final OperationTimer softDeleteTimer;
+    private final OperationTimer updateTimer;
+    private final OperationTimer batchUpdateTimer;
+    private final OperationTimer pageTimer;
+    private final OperationTimer cursorTimer;
+    private final OperationTimer statsTimer;
+
+    public CompanyService(CompanyRepository companyRepository, EmployeeRepository employeeRepository,
+                          EmployeeDeactivationJobs deactivationJobs) {
+        this(companyRepository, employeeRepository, deactivationJobs, Metrics.globalRegistry);
+    }
 
-    public CompanyService(CompanyRepository companyRepository, EmployeeRepository employeeRepository) {
+    @Autowired
+    public CompanyService(CompanyRepository companyRepository, EmployeeRepository employeeRepository,
+                          EmployeeDeactivationJobs deactivationJobs, MeterRegistry meterRegistry) {
         this.companyRepository = companyRepository;
         this.employeeRepository = employeeRepository;
+        this.deactivationJobs = deactivationJobs;
+        this.scanTimer = new OperationTimer(meterRegistry, LAYER, COMPANY_CACHE, "scan");
+        this.scanWithEmployeesTimer = new OperationTimer(meterRegistry, LAYER, COMPANY_CACHE, "scan-with-employees");
+        this.lookupTimer = new OperationTimer(meterRegistry, LAYER, COMPANY_CACHE, "lookup");
+        this.addTimer = new OperationTimer(meterRegistry, LAYER, COMPANY_CACHE, "add");
+        this.batchAddTimer = new OperationTimer(meterRegistry, LAYER, COMPANY_CACHE, "batch-add");
+        this.employeesTimer = new OperationTimer(meterRegistry, LAYER, COMPANY_CACHE, "find-employees");
+        this.softDeleteTimer = new OperationTimer(meterRegistry, LAYER, COMPANY_CACHE, "soft-delete");
+        this.updateTimer = new OperationTimer(meterRegistry, LAYER, COMPANY_CACHE, "update");
+        this.batchUpdateTimer = new OperationTimer(meterRegistry, LAYER, COMPANY_CACHE, "batch-update");
+        this.pageTimer = new OperationTimer(meterRegistry, LAYER, COMPANY_CACHE, "page");
+        this.cursorTimer = new OperationTimer(meterRegistry, LAYER, COMPANY_CACHE, "cursor-page");
+        this.statsTimer = new OperationTimer(meterRegistry, LAYER, COMPANY_CACHE, "stats");
     }
 
     public List<Company> getAll() {
-        return companyRepository.getAllCompanies();
+        long start = scanTimer.start();
+        try {
+            return companyRepository.getAllCompanies();
+        } finally {
+            scanTimer.stop(start);
+        }
+    }
+
+    public List<CompanyWithEmployees> getAllWithEmployees() {
+        long start = scanWithEmployeesTimer.start();
+        try {
+            List<Company> companies = companyRepository.getAllCompanies();
+            Map<Long, List<Employee>> employeesByCompanyId = employeeRepository.findEmployeesByCompanyIds(
+                    companies.stream().map(Company::getId).collect(Collectors.toList()));
+            return companies.stream()
+                    .map(company -> new CompanyWithEmployees(company, employeesByCompanyId.get(company.getId())))
+                    .collect(Collectors.toList());
+        } finally {
+            scanWithEmployeesTimer.stop(start);
+        }
+    }
+
+    public long getCollectionVersion() {
+        return companyRepository.getCollectionVersion();
     }
 
+    public Stream<Company> streamAll() {
+        return companyRepository.streamAllCompanies();
+    }
+
+    @Cacheable(cacheNames = COMPANY_CACHE, key = "#id")
     public Company findById(Long id) {
-        return companyRepository.findCompanyById(id);
+        long start = lookupTimer.start();
+        try {
+            return companyRepository.findCompanyById(id);
+        } catch (RuntimeException exception) {
+            lookupTimer.failed();
+            throw exception;
+        } finally {
+            lookupTimer.stop(start);
+        }
     }
 
+    @CachePut(cacheNames = COMPANY_CACHE, key = "#result.id")
     public Company create(Company company) {
-        return companyRepository.addCompany(company);
+        long start = addTimer.start();
+        try {
+            return companyRepository.addCompany(company);
+        } finally {
+            addTimer.stop(start);
+        }
+    }
+
+    public List<BatchItemResult<Company>> createAll(List<Company> companies) {
+        long start = batchAddTimer.start();
+        try {
+            return companyRepository.runInBatch(() -> IntStream.range(0, companies.size())
+                    .mapToObj(index -> BatchItemResult.succeeded(index, HttpStatus.CREATED.value(), create(companies.get(index))))
+                    .collect(Collectors.toList()));
+        } finally {
+            batchAddTimer.stop(start);
+        }
     }
 
     public List<Employee> findEmployeesByCompanyId(Long id) {
-        return employeeRepository.findEmployeesByCompanyId(id);
+        long start = employeesTimer.start();
+        try {
+            companyRepository.findCompanyById(id);
+            return employeeRepository.findEmployeesByCompanyId(id);
+        } catch (RuntimeException exception) {
+            employeesTimer.failed();
+            throw exception;
+        } finally {
+            employeesTimer.stop(start);
+        }
     }
 
+    @CacheEvict(cacheNames = COMPANY_CACHE, key = "#id")
     public void delete(Long id) {
-        Company matchedCompany = companyRepository.findCompanyById(id);
-        matchedCompany.setActive(Boolean.FALSE);
-        companyRepository.updateCompany(id, matchedCompany);
+        long start = softDeleteTimer.start();
+        try {
+            companyRepository.deactivateCompany(id);
+        } catch (RuntimeException exception) {
+            softDeleteTimer.failed();
+            throw exception;
+        } finally {
+            softDeleteTimer.stop(start);
+        }
+    }
+
+    /**
+     * Soft-deletes the company right away and hands the deactivation of its employees to a background
+     * job, whose progress is available through {@link #findCascadeJob(Long)}. The job slot is reserved
+     * first, so a full job queue leaves the company untouched.
+     */
+    @CacheEvict(cacheNames = COMPANY_CACHE, key = "#id")
+    public CascadeJob deleteWithEmployees(Long id) {
+        EmployeeDeactivationJobs.Slot slot = deactivationJobs.reserve();
+        try {
+            delete(id);
+            return slot.submit(id);
+        } finally {
+            slot.release();
+        }
     }
 
+    public CascadeJob findCascadeJob(Long jobId) {
+        return deactivationJobs.findById(jobId);
+    }
+
+    @CacheEvict(cacheNames = COMPANY_CACHE, key = "#id")
     public Company update(Long id, Company updatedCompanyInfo) {
-        return companyRepository.updateCompany(id, updatedCompanyInfo);
+        return update(id, updatedCompanyInfo, null);
+    }
+
+    @CacheEvict(cacheNames = COMPANY_CACHE, key = "#id")
+    public Company update(Long id, Company updatedCompanyInfo, Long expectedVersion) {
+        long start = updateTimer.start();
+        try {
+            return companyRepository.updateCompany(id, updatedCompanyInfo, expectedVersion);
+        } catch (RuntimeException exception) {
+            updateTimer.failed();
+            throw exception;
+        } finally {
+            updateTimer.stop(start);
+        }
+    }
+
+    @CacheEvict(cacheNames = COMPANY_CACHE, allEntries = true)
+    public List<BatchItemResult<Company>> updateAll(List<Company> updatedCompaniesInfo) {
+        long start = batchUpdateTimer.start();
+        try {
+            return companyRepository.runInBatch(() -> IntStream.range(0, updatedCompaniesInfo.size())
+                    .mapToObj(index -> updateBatchItem(index, updatedCompaniesInfo.get(index)))
+                    .collect(Collectors.toList()));
+        } finally {
+            batchUpdateTimer.stop(start);
+        }
+    }
+
+    private BatchItemResult<Company> updateBatchItem(int index, Company updatedCompanyInfo) {
+        try {
+            return BatchItemResult.succeeded(index, HttpStatus.OK.value(), update(updatedCompanyInfo.getId(), updatedCompanyInfo));
+        } catch (CompanyNotFoundException exception) {
+            return BatchItemResult.failed(index, HttpStatus.NOT_FOUND.value(), exception.getMessage());
+        }
     }
 
     public List<Company> getCompaniesByPage(Long pageNumber, Long pageSize) {
-        return companyRepository.listCompaniesByPage(pageNumber, pageSize);
+        long start = pageTimer.start();
+        try {
+            return companyRepository.listCompaniesByPage(pageNumber, pageSize);
+        } finally {
+            pageTimer.stop(start);
+        }
+    }
+
+    public CursorPage<Company> getCompaniesAfter(Long after, Integer limit) {
+        long start = cursorTimer.start();
+        try {
+            return companyRepository.listCompaniesAfter(after, limit);
+        } finally {
+            cursorTimer.stop(start);
+        }
+    }
+
+    public PayrollStats getStats(Long id) {
+        long start = statsTimer.start();
+        try {
+            companyRepository.findCompanyById(id);
+            return employeeRepository.getPayrollStatsByCompanyId(id);
+        } catch (RuntimeException exception) {
+            statsTimer.failed();
+            throw exception;
+        } finally {
+            statsTimer.stop(start);
+        }
     }
 }
\ No newline at end of file
@@ -1,57 +1,297 @@
 package com.thoughtworks.springbootemployee.service;
 
 import com.thoughtworks.springbootemployee.exception.EmployeeCreateException;
+import com.thoughtworks.springbootemployee.exception.EmployeeNotFoundException;
 import com.thoughtworks.springbootemployee.exception.EmployeeUpdateException;
+import com.thoughtworks.springbootemployee.exception.InvalidQueryException;
+import com.thoughtworks.springbootemployee.exception.StorageCapacityException;
+import com.thoughtworks.springbootemployee.metrics.OperationTimer;
+import com.thoughtworks.springbootemployee.model.BatchItemResult;
+import com.thoughtworks.springbootemployee.model.CursorPage;
 import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.model.PayrollStats;
+import com.thoughtworks.springbootemployee.query.EmployeeQueryParser;
+import com.thoughtworks.springbootemployee.query.QueryField;
 import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 @Service
 public class EmployeeService {
 
+    public static final String EMPLOYEE_CACHE = "employees";
+    private static final String LAYER = "service";
+
     private final EmployeeRepository employeeRepository;
+    private final OperationTimer scanTimer;
+    private final OperationTimer lookupTimer;
+    private final OperationTimer genderTimer;
+    private final OperationTimer addTimer;
+    private final OperationTimer batchAddTimer;
+    private final OperationTimer softDeleteTimer;
+    private final OperationTimer updateTimer;
+    private final OperationTimer batchUpdateTimer;
+    private final OperationTimer pageTimer;
+    private final OperationTimer cursorTimer;
+    private final OperationTimer statsTimer;
+    private final OperationTimer queryTimer;
+    private final OperationTimer sortedTimer;
+    private final OperationTimer rangeTimer;
 
     public EmployeeService(EmployeeRepository employeeRepository) {
+        this(employeeRepository, Metrics.globalRegistry);
+    }
+
+    @Autowired
+    public EmployeeService(EmployeeRepository employeeRepository, MeterRegistry meterRegistry) {
         this.employeeRepository = employeeRepository;
+        this.scanTimer = new OperationTimer(meterRegistry, LAYER, EMPLOYEE_CACHE, "scan");
+        this.lookupTimer = new OperationTimer(meterRegistry, LAYER, EMPLOYEE_CACHE, "lookup");
+        this.genderTimer = new OperationTimer(meterRegistry, LAYER, EMPLOYEE_CACHE, "find-by-gender");
+        this.addTimer = new OperationTimer(meterRegistry, LAYER, EMPLOYEE_CACHE, "add");
+        this.batchAddTimer = new OperationTimer(meterRegistry, LAYER, EMPLOYEE_CACHE, "batch-add");
+        this.softDeleteTimer = new OperationTimer(meterRegistry, LAYER, EMPLOYEE_CACHE, "soft-delete");
+        this.updateTimer = new OperationTimer(meterRegistry, LAYER, EMPLOYEE_CACHE, "update");
+        this.batchUpdateTimer = new OperationTimer(meterRegistry, LAYER, EMPLOYEE_CACHE, "batch-update");
+        this.pageTimer = new OperationTimer(meterRegistry, LAYER, EMPLOYEE_CACHE, "page");
+        this.cursorTimer = new OperationTimer(meterRegistry, LAYER, EMPLOYEE_CACHE, "cursor-page");
+        this.statsTimer = new OperationTimer(meterRegistry, LAYER, EMPLOYEE_CACHE, "stats");
+        this.queryTimer = new OperationTimer(meterRegistry, LAYER, EMPLOYEE_CACHE, "query");
+        this.sortedTimer = new OperationTimer(meterRegistry, LAYER, EMPLOYEE_CACHE, "sorted");
+        this.rangeTimer = new OperationTimer(meterRegistry, LAYER, EMPLOYEE_CACHE, "range");
     }
 
     public List<Employee> getAll() {
-        return employeeRepository.getAllEmployees();
+        long start = scanTimer.start();
+        try {
+            return employeeRepository.getAllEmployees();
+        } finally {
+            scanTimer.stop(start);
+        }
     }
 
+    public Stream<Employee> streamAll() {
+        return employeeRepository.streamAllEmployees();
+    }
+
+    public long getCollectionVersion() {
+        return employeeRepository.getCollectionVersion();
+    }
+
+    @Cacheable(cacheNames = EMPLOYEE_CACHE, key = "#id")
     public Employee findById(Long id) {
-        return employeeRepository.findEmployeeById(id);
+        long start = lookupTimer.start();
+        try {
+            return employeeRepository.findEmployeeById(id);
+        } catch (RuntimeException exception) {
+            lookupTimer.failed();
+            throw exception;
+        } finally {
+            lookupTimer.stop(start);
+        }
+    }
+
+    public List<Employee> query(String query) {
+        long start = queryTimer.start();
+        try {
+            return employeeRepository.findEmployees(EmployeeQueryParser.parse(query));
+        } catch (RuntimeException exception) {
+            queryTimer.failed();
+            throw exception;
+        } finally {
+            queryTimer.stop(start);
+        }
+    }
+
+    public List<Employee> getSortedBy(String by, String order, Integer limit) {
+        long start = sortedTimer.start();
+        try {
+            return employeeRepository.listEmployeesSortedBy(QueryField.orderedFromName(by), isDescending(order),
+                    validLimit(limit));
+        } catch (RuntimeException exception) {
+            sortedTimer.failed();
+            throw exception;
+        } finally {
+            sortedTimer.stop(start);
+        }
+    }
+
+    public List<Employee> getInRange(String by, Integer min, Integer max, Integer limit) {
+        long start = rangeTimer.start();
+        try {
+            checkRange(min, max);
+            return employeeRepository.findEmployeesInRange(QueryField.orderedFromName(by), min, max, validLimit(limit));
+        } catch (RuntimeException exception) {
+            rangeTimer.failed();
+            throw exception;
+        } finally {
+            rangeTimer.stop(start);
+        }
+    }
+
+    static boolean isDescending(String order) {
+        if ("asc".equalsIgnoreCase(order)) {
+            return false;
+        }
+        if ("desc".equalsIgnoreCase(order)) {
+            return true;
+        }
+        throw new InvalidQueryException("order must be asc or desc");
+    }
+
+    static void checkRange(Integer min, Integer max) {
+        if (min != null && max != null && min > max) {
+            throw new InvalidQueryException("min must not be greater than max");
+        }
+    }
+
+    static long validLimit(Integer limit) {
+        if (limit == null) {
+            return Long.MAX_VALUE;
+        }
+        if (limit < 0) {
+            throw new InvalidQueryException("limit must not be negative");
+        }
+        return limit;
     }
 
     public List<Employee> findByGender(String gender) {
-        return employeeRepository.findEmployeeByGender(gender);
+        long start = genderTimer.start();
+        try {
+            return employeeRepository.findEmployeeByGender(gender);
+        } finally {
+            genderTimer.stop(start);
+        }
     }
 
+    @CachePut(cacheNames = EMPLOYEE_CACHE, key = "#result.id")
     public Employee create(Employee employee) {
-        if (employee.hasInvalidAge()) {
-            throw new EmployeeCreateException();
+        long start = addTimer.start();
+        try {
+            if (employee.hasInvalidAge()) {
+                throw new EmployeeCreateException();
+            }
+            employee.setActive(Boolean.TRUE);
+            return employeeRepository.addEmployee(employee);
+        } catch (RuntimeException exception) {
+            addTimer.failed();
+            throw exception;
+        } finally {
+            addTimer.stop(start);
+        }
+    }
+
+    public List<BatchItemResult<Employee>> createAll(List<Employee> employees) {
+        long start = batchAddTimer.start();
+        try {
+            return employeeRepository.runInBatch(() -> IntStream.range(0, employees.size())
+                    .mapToObj(index -> createBatchItem(index, employees.get(index)))
+                    .collect(Collectors.toList()));
+        } finally {
+            batchAddTimer.stop(start);
         }
-        employee.setActive(Boolean.TRUE);
-        return employeeRepository.addEmployee(employee);
     }
 
+    private BatchItemResult<Employee> createBatchItem(int index, Employee employee) {
+        try {
+            return BatchItemResult.succeeded(index, HttpStatus.CREATED.value(), create(employee));
+        } catch (EmployeeCreateException exception) {
+            return BatchItemResult.failed(index, HttpStatus.BAD_REQUEST.value(), exception.getMessage());
+        } catch (StorageCapacityException exception) {
+            return BatchItemResult.failed(index, HttpStatus.UNPROCESSABLE_ENTITY.value(), exception.getMessage());
+        }
+    }
+
+    @CacheEvict(cacheNames = EMPLOYEE_CACHE, key = "#id")
     public void delete(Long id) {
-        Employee matchedEmployee = employeeRepository.findEmployeeById(id);
-        matchedEmployee.setActive(Boolean.FALSE);
-        employeeRepository.updateEmployee(id, matchedEmployee);
+        long start = softDeleteTimer.start();
+        try {
+            employeeRepository.deactivateEmployee(id);
+        } catch (RuntimeException exception) {
+            softDeleteTimer.failed();
+            throw exception;
+        } finally {
+            softDeleteTimer.stop(start);
+        }
     }
 
+    @CacheEvict(cacheNames = EMPLOYEE_CACHE, key = "#id")
     public Employee update(Long id, Employee newEmployeeInfo) {
-        Employee matchedEmployee = employeeRepository.findEmployeeById(id);
-        if (Boolean.TRUE.equals(matchedEmployee.isInactive())) {
-            throw new EmployeeUpdateException();
+        return update(id, newEmployeeInfo, null);
+    }
+
+    @CacheEvict(cacheNames = EMPLOYEE_CACHE, key = "#id")
+    public Employee update(Long id, Employee newEmployeeInfo, Long expectedVersion) {
+        long start = updateTimer.start();
+        try {
+            return employeeRepository.updateEmployee(id, newEmployeeInfo, expectedVersion);
+        } catch (RuntimeException exception) {
+            updateTimer.failed();
+            throw exception;
+        } finally {
+            updateTimer.stop(start);
+        }
+    }
+
+    @CacheEvict(cacheNames = EMPLOYEE_CACHE, allEntries = true)
+    public List<BatchItemResult<Employee>> updateAll(List<Employee> newEmployeesInfo) {
+        long start = batchUpdateTimer.start();
+        try {
+            return employeeRepository.runInBatch(() -> IntStream.range(0, newEmployeesInfo.size())
+                    .mapToObj(index -> updateBatchItem(index, newEmployeesInfo.get(index)))
+                    .collect(Collectors.toList()));
+        } finally {
+            batchUpdateTimer.stop(start);
+        }
+    }
+
+    private BatchItemResult<Employee> updateBatchItem(int index, Employee newEmployeeInfo) {
+        try {
+            return BatchItemResult.succeeded(index, HttpStatus.OK.value(), update(newEmployeeInfo.getId(), newEmployeeInfo));
+        } catch (EmployeeNotFoundException exception) {
+            return BatchItemResult.failed(index, HttpStatus.NOT_FOUND.value(), exception.getMessage());
+        } catch (EmployeeUpdateException exception) {
+            return BatchItemResult.failed(index, HttpStatus.BAD_REQUEST.value(), exception.getMessage());
         }
-        return employeeRepository.updateEmployee(id, newEmployeeInfo);
     }
 
     public List<Employee> getEmployeesByPage(Long pageNumber, Long pageSize) {
-        return employeeRepository.listEmployeesByPage(pageNumber, pageSize);
+        long start = pageTimer.start();
+        try {
+            return employeeRepository.listEmployeesByPage(pageNumber, pageSize);
+        } finally {
+            pageTimer.stop(start);
+        }
+    }
+
+    public CursorPage<Employee> getEmployeesAfter(Long after, Integer limit) {
+        long start = cursorTimer.start();
+        try {
+            return employeeRepository.listEmployeesAfter(after, limit);
+        } finally {
+            cursorTimer.stop(start);
+        }
+    }
+
+    public PayrollStats getStats(String gender) {
+        long start = statsTimer.start();
+        try {
+            return gender == null
+                    ? employeeRepository.getPayrollStats()
+                    : employeeRepository.getPayrollStatsByGender(gender);
+        } finally {
+            statsTimer.stop(start);
+        }
     }
 }
@@ -0,0 +1,98 @@
+package com.thoughtworks.springbootemployee.service;
+
+import com.thoughtworks.springbootemployee.jobs.EmployeeDeactivationJobs;
+import com.thoughtworks.springbootemployee.model.CascadeJob;
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.CompanyWithEmployees;
+import com.thoughtworks.springbootemployee.model.CursorPage;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.model.PayrollStats;
+import com.thoughtworks.springbootemployee.repository.ReactiveCompanyRepository;
+import com.thoughtworks.springbootemployee.repository.ReactiveEmployeeRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.stream.Collectors;
+
+@Service
+@Profile("reactive")
+public class ReactiveCompanyService {
+
+    private final ReactiveCompanyRepository companyRepository;
+    private final ReactiveEmployeeRepository employeeRepository;
+    private final EmployeeDeactivationJobs deactivationJobs;
+
+    public ReactiveCompanyService(ReactiveCompanyRepository companyRepository, ReactiveEmployeeRepository employeeRepository,
+                                  EmployeeDeactivationJobs deactivationJobs) {
+        this.companyRepository = companyRepository;
+        this.employeeRepository = employeeRepository;
+        this.deactivationJobs = deactivationJobs;
+    }
+
+    public Flux<Company> getAll() {
+        return companyRepository.getAllCompanies();
+    }
+
+    public Flux<CompanyWithEmployees> getAllWithEmployees() {
+        return companyRepository.getAllCompanies()
+                .collectList()
+                .flatMapMany(companies -> employeeRepository.findEmployeesByCompanyIds(companies.stream()
+                                .map(Company::getId)
+                                .collect(Collectors.toList()))
+                        .flatMapIterable(employeesByCompanyId -> companies.stream()
+                                .map(company -> new CompanyWithEmployees(company, employeesByCompanyId.get(company.getId())))
+                                .collect(Collectors.toList())));
+    }
+
+    public Mono<Long> getCollectionVersion() {
+        return companyRepository.getCollectionVersion();
+    }
+
+    public Mono<Company> findById(Long id) {
+        return companyRepository.findCompanyById(id);
+    }
+
+    public Mono<Company> create(Company company) {
+        return companyRepository.addCompany(company);
+    }
+
+    public Flux<Employee> findEmployeesByCompanyId(Long id) {
+        return companyRepository.findCompanyById(id)
+                .thenMany(employeeRepository.findEmployeesByCompanyId(id));
+    }
+
+    public Mono<Void> delete(Long id) {
+        return companyRepository.deactivateCompany(id)
+                .then();
+    }
+
+    public Mono<CascadeJob> deleteWithEmployees(Long id) {
+        return Mono.fromCallable(deactivationJobs::reserve)
+                .flatMap(slot -> delete(id)
+                        .then(Mono.fromCallable(() -> slot.submit(id)))
+                        .doFinally(signal -> slot.release()));
+    }
+
+    public Mono<CascadeJob> findCascadeJob(Long jobId) {
+        return Mono.fromCallable(() -> deactivationJobs.findById(jobId));
+    }
+
+    public Mono<Company> update(Long id, Company updatedCompanyInfo, Long expectedVersion) {
+        return companyRepository.updateCompany(id, updatedCompanyInfo, expectedVersion);
+    }
+
+    public Flux<Company> getCompaniesByPage(Long pageNumber, Long pageSize) {
+        return companyRepository.listCompaniesByPage(pageNumber, pageSize);
+    }
+
+    public Mono<CursorPage<Company>> getCompaniesAfter(Long after, Integer limit) {
+        return companyRepository.listCompaniesAfter(after, limit);
+    }
+
+    public Mono<PayrollStats> getStats(Long id) {
+        return companyRepository.findCompanyById(id)
+                .flatMap(company -> employeeRepository.getPayrollStatsByCompanyId(id));
+    }
+}
@@ -0,0 +1,88 @@
+package com.thoughtworks.springbootemployee.service;
+
+import com.thoughtworks.springbootemployee.exception.EmployeeCreateException;
+import com.thoughtworks.springbootemployee.model.CursorPage;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.model.PayrollStats;
+import com.thoughtworks.springbootemployee.query.EmployeeQueryParser;
+import com.thoughtworks.springbootemployee.query.QueryField;
+import com.thoughtworks.springbootemployee.repository.ReactiveEmployeeRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@Profile("reactive")
+public class ReactiveEmployeeService {
+
+    private final ReactiveEmployeeRepository employeeRepository;
+
+    public ReactiveEmployeeService(ReactiveEmployeeRepository employeeRepository) {
+        this.employeeRepository = employeeRepository;
+    }
+
+    public Flux<Employee> getAll() {
+        return employeeRepository.getAllEmployees();
+    }
+
+    public Mono<Long> getCollectionVersion() {
+        return employeeRepository.getCollectionVersion();
+    }
+
+    public Mono<Employee> findById(Long id) {
+        return employeeRepository.findEmployeeById(id);
+    }
+
+    public Flux<Employee> query(String query) {
+        return Flux.defer(() -> employeeRepository.findEmployees(EmployeeQueryParser.parse(query)));
+    }
+
+    public Flux<Employee> getSortedBy(String by, String order, Integer limit) {
+        return Flux.defer(() -> employeeRepository.listEmployeesSortedBy(QueryField.orderedFromName(by),
+                EmployeeService.isDescending(order), EmployeeService.validLimit(limit)));
+    }
+
+    public Flux<Employee> getInRange(String by, Integer min, Integer max, Integer limit) {
+        return Flux.defer(() -> {
+            EmployeeService.checkRange(min, max);
+            return employeeRepository.findEmployeesInRange(QueryField.orderedFromName(by), min, max,
+                    EmployeeService.validLimit(limit));
+        });
+    }
+
+    public Flux<Employee> findByGender(String gender) {
+        return employeeRepository.findEmployeeByGender(gender);
+    }
+
+    public Mono<Employee> create(Employee employee) {
+        if (employee.hasInvalidAge()) {
+            return Mono.error(new EmployeeCreateException());
+        }
+        employee.setActive(Boolean.TRUE);
+        return employeeRepository.addEmployee(employee);
+    }
+
+    public Mono<Void> delete(Long id) {
+        return employeeRepository.deactivateEmployee(id)
+                .then();
+    }
+
+    public Mono<Employee> update(Long id, Employee newEmployeeInfo, Long expectedVersion) {
+        return employeeRepository.updateEmployee(id, newEmployeeInfo, expectedVersion);
+    }
+
+    public Flux<Employee> getEmployeesByPage(Long pageNumber, Long pageSize) {
+        return employeeRepository.listEmployeesByPage(pageNumber, pageSize);
+    }
+
+    public Mono<CursorPage<Employee>> getEmployeesAfter(Long after, Integer limit) {
+        return employeeRepository.listEmployeesAfter(after, limit);
+    }
+
+    public Mono<PayrollStats> getStats(String gender) {
+        return gender == null
+                ? employeeRepository.getPayrollStats()
+                : employeeRepository.getPayrollStatsByGender(gender);
+    }
+}
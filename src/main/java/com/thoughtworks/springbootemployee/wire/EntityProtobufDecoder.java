@@ -0,0 +1,64 @@
+package com.thoughtworks.springbootemployee.wire;
+
+import com.google.protobuf.CodedInputStream;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.AbstractDataBufferDecoder;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Reads a request body holding one employee or company message, or a list message when the body is
+ * consumed as a {@code Flux}.
+ */
+public class EntityProtobufDecoder extends AbstractDataBufferDecoder<Object> {
+
+    public EntityProtobufDecoder() {
+        super(MimeTypeUtils.parseMimeType(ProtobufWireFormat.MEDIA_TYPE));
+    }
+
+    @Override
+    public boolean canDecode(ResolvableType elementType, MimeType mimeType) {
+        Class<?> type = elementType.resolve();
+        return type != null && ProtobufWireFormat.supports(type) && super.canDecode(elementType, mimeType);
+    }
+
+    @Override
+    public Flux<Object> decode(Publisher<DataBuffer> inputStream, ResolvableType elementType, MimeType mimeType,
+                               Map<String, Object> hints) {
+        return DataBufferUtils.join(inputStream, getMaxInMemorySize())
+                .flatMapIterable(buffer -> {
+                    try {
+                        return ProtobufWireFormat.readList(elementType.toClass(), inputOf(buffer));
+                    } catch (IOException exception) {
+                        throw new DecodingException("Invalid protobuf body: " + exception.getMessage(), exception);
+                    }
+                });
+    }
+
+    @Override
+    public Object decode(DataBuffer buffer, ResolvableType targetType, MimeType mimeType, Map<String, Object> hints) {
+        try {
+            return ProtobufWireFormat.read(targetType.toClass(), inputOf(buffer));
+        } catch (IOException exception) {
+            throw new DecodingException("Invalid protobuf body: " + exception.getMessage(), exception);
+        }
+    }
+
+    private static CodedInputStream inputOf(DataBuffer buffer) {
+        try {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            return CodedInputStream.newInstance(bytes);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.thoughtworks.springbootemployee.wire;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.AbstractEncoder;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Writes a single employee or company as one message and a {@code Flux} of them as the items of a
+ * list message, emitted as they arrive.
+ * <p>
+ * Like the Jackson encoders it also accepts the {@code Object} element type, which keeps WebFlux
+ * ordering it among the object codecs after JSON; values of other types fail to encode.
+ */
+public class EntityProtobufEncoder extends AbstractEncoder<Object> {
+
+    public EntityProtobufEncoder() {
+        super(MimeTypeUtils.parseMimeType(ProtobufWireFormat.MEDIA_TYPE));
+    }
+
+    @Override
+    public boolean canEncode(ResolvableType elementType, MimeType mimeType) {
+        Class<?> type = elementType.resolve(Object.class);
+        return (type == Object.class || ProtobufWireFormat.supports(type)) && super.canEncode(elementType, mimeType);
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory, ResolvableType elementType,
+                                   MimeType mimeType, Map<String, Object> hints) {
+        if (inputStream instanceof Mono) {
+            return Mono.from(inputStream)
+                    .map(entity -> bufferFactory.wrap(ProtobufWireFormat.toBytes(checked(entity))))
+                    .flux();
+        }
+        return Flux.from(inputStream)
+                .map(entity -> bufferFactory.wrap(ProtobufWireFormat.toListItemBytes(checked(entity))));
+    }
+
+    @Override
+    public DataBuffer encodeValue(Object value, DataBufferFactory bufferFactory, ResolvableType valueType,
+                                  MimeType mimeType, Map<String, Object> hints) {
+        return bufferFactory.wrap(ProtobufWireFormat.toBytes(checked(value)));
+    }
+
+    private static Object checked(Object value) {
+        if (!ProtobufWireFormat.supports(value.getClass())) {
+            throw new EncodingException("No protobuf representation for " + value.getClass().getName());
+        }
+        return value;
+    }
+}
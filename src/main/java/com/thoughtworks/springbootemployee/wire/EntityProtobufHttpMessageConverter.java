@@ -0,0 +1,82 @@
+package com.thoughtworks.springbootemployee.wire;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reads and writes employees, companies and lists of them as {@value ProtobufWireFormat#MEDIA_TYPE}.
+ */
+public class EntityProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public EntityProtobufHttpMessageConverter() {
+        super(MediaType.parseMediaType(ProtobufWireFormat.MEDIA_TYPE));
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return entityTypeOf(type) != null && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return entityTypeOf(type != null ? type : clazz) != null && canWrite(mediaType);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        Class<?> entityType = entityTypeOf(type);
+        CodedInputStream input = CodedInputStream.newInstance(inputMessage.getBody());
+        try {
+            return isList(type) ? ProtobufWireFormat.readList(entityType, input) : ProtobufWireFormat.read(entityType, input);
+        } catch (IOException exception) {
+            throw new HttpMessageNotReadableException("Invalid protobuf body: " + exception.getMessage(), exception,
+                    inputMessage);
+        }
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ProtobufWireFormat.supports(clazz);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return read(clazz, null, inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+        CodedOutputStream output = CodedOutputStream.newInstance(outputMessage.getBody());
+        if (body instanceof Collection) {
+            ProtobufWireFormat.writeList((Collection<?>) body, output);
+        } else {
+            ProtobufWireFormat.write(body, output);
+        }
+        output.flush();
+    }
+
+    private static boolean isList(Type type) {
+        Class<?> rawType = ResolvableType.forType(type).resolve();
+        return rawType != null && List.class.isAssignableFrom(rawType);
+    }
+
+    private static Class<?> entityTypeOf(Type type) {
+        ResolvableType resolvableType = ResolvableType.forType(type);
+        Class<?> rawType = resolvableType.resolve();
+        if (rawType != null && List.class.isAssignableFrom(rawType)) {
+            rawType = resolvableType.asCollection().resolveGeneric(0);
+        }
+        return rawType != null && ProtobufWireFormat.supports(rawType) ? rawType : null;
+    }
+}
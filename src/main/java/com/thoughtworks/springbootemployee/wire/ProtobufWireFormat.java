@@ -0,0 +1,229 @@
+package com.thoughtworks.springbootemployee.wire;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.Employee;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Encodes employees and companies as the messages of {@code src/main/proto/employees.proto} without
+ * generated classes. Lists are {@code EmployeeList}/{@code CompanyList} messages, which are nothing
+ * but repeated length-delimited items, so they can be written one item at a time.
+ */
+public final class ProtobufWireFormat {
+
+    public static final String MEDIA_TYPE = "application/x-protobuf";
+
+    private static final int LIST_ITEM = 1;
+    private static final int ID = 1;
+    private static final int NAME = 2;
+    private static final int EMPLOYEE_AGE = 3;
+    private static final int EMPLOYEE_GENDER = 4;
+    private static final int EMPLOYEE_SALARY = 5;
+    private static final int EMPLOYEE_COMPANY_ID = 6;
+    private static final int EMPLOYEE_ACTIVE = 7;
+    private static final int EMPLOYEE_VERSION = 8;
+    private static final int COMPANY_ACTIVE = 3;
+    private static final int COMPANY_VERSION = 4;
+
+    private ProtobufWireFormat() {
+    }
+
+    public static boolean supports(Class<?> type) {
+        return type == Employee.class || type == Company.class;
+    }
+
+    public static byte[] toBytes(Object entity) {
+        byte[] bytes = new byte[messageSize(entity)];
+        CodedOutputStream output = CodedOutputStream.newInstance(bytes);
+        write(entity, output);
+        return bytes;
+    }
+
+    public static byte[] toListItemBytes(Object entity) {
+        int messageSize = messageSize(entity);
+        byte[] bytes = new byte[CodedOutputStream.computeTagSize(LIST_ITEM)
+                + CodedOutputStream.computeUInt32SizeNoTag(messageSize) + messageSize];
+        CodedOutputStream output = CodedOutputStream.newInstance(bytes);
+        writeListItem(entity, messageSize, output);
+        return bytes;
+    }
+
+    public static void write(Object entity, CodedOutputStream output) {
+        try {
+            if (entity instanceof Employee) {
+                writeEmployee((Employee) entity, output);
+            } else {
+                writeCompany((Company) entity, output);
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    public static void writeList(Collection<?> entities, CodedOutputStream output) {
+        for (Object entity : entities) {
+            writeListItem(entity, messageSize(entity), output);
+        }
+    }
+
+    public static <T> T read(Class<T> type, CodedInputStream input) throws IOException {
+        return type.cast(type == Employee.class ? readEmployee(input) : readCompany(input));
+    }
+
+    public static <T> List<T> readList(Class<T> type, CodedInputStream input) throws IOException {
+        List<T> entities = new ArrayList<>();
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            if (WireFormat.getTagFieldNumber(tag) != LIST_ITEM) {
+                input.skipField(tag);
+                continue;
+            }
+            int previousLimit = input.pushLimit(input.readRawVarint32());
+            entities.add(read(type, input));
+            input.popLimit(previousLimit);
+        }
+        return entities;
+    }
+
+    private static void writeListItem(Object entity, int messageSize, CodedOutputStream output) {
+        try {
+            output.writeTag(LIST_ITEM, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            output.writeUInt32NoTag(messageSize);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        write(entity, output);
+    }
+
+    private static int messageSize(Object entity) {
+        if (entity instanceof Employee) {
+            Employee employee = (Employee) entity;
+            return int64Size(ID, employee.getId()) + stringSize(NAME, employee.getName())
+                    + int32Size(EMPLOYEE_AGE, employee.getAge()) + stringSize(EMPLOYEE_GENDER, employee.getGender())
+                    + int32Size(EMPLOYEE_SALARY, employee.getSalary())
+                    + int64Size(EMPLOYEE_COMPANY_ID, employee.getCompanyId())
+                    + boolSize(EMPLOYEE_ACTIVE, employee.isActive())
+                    + int64Size(EMPLOYEE_VERSION, employee.getVersion());
+        }
+        Company company = (Company) entity;
+        return int64Size(ID, company.getId()) + stringSize(NAME, company.getName())
+                + boolSize(COMPANY_ACTIVE, company.isActive())
+                + int64Size(COMPANY_VERSION, company.getVersion());
+    }
+
+    private static void writeEmployee(Employee employee, CodedOutputStream output) throws IOException {
+        if (employee.getId() != null) {
+            output.writeInt64(ID, employee.getId());
+        }
+        if (employee.getName() != null) {
+            output.writeString(NAME, employee.getName());
+        }
+        if (employee.getAge() != null) {
+            output.writeInt32(EMPLOYEE_AGE, employee.getAge());
+        }
+        if (employee.getGender() != null) {
+            output.writeString(EMPLOYEE_GENDER, employee.getGender());
+        }
+        if (employee.getSalary() != null) {
+            output.writeInt32(EMPLOYEE_SALARY, employee.getSalary());
+        }
+        if (employee.getCompanyId() != null) {
+            output.writeInt64(EMPLOYEE_COMPANY_ID, employee.getCompanyId());
+        }
+        if (employee.isActive() != null) {
+            output.writeBool(EMPLOYEE_ACTIVE, employee.isActive());
+        }
+        if (employee.getVersion() != null) {
+            output.writeInt64(EMPLOYEE_VERSION, employee.getVersion());
+        }
+    }
+
+    private static void writeCompany(Company company, CodedOutputStream output) throws IOException {
+        if (company.getId() != null) {
+            output.writeInt64(ID, company.getId());
+        }
+        if (company.getName() != null) {
+            output.writeString(NAME, company.getName());
+        }
+        if (company.isActive() != null) {
+            output.writeBool(COMPANY_ACTIVE, company.isActive());
+        }
+        if (company.getVersion() != null) {
+            output.writeInt64(COMPANY_VERSION, company.getVersion());
+        }
+    }
+
+    private static Employee readEmployee(CodedInputStream input) throws IOException {
+        Long id = null;
+        String name = null;
+        Integer age = null;
+        String gender = null;
+        Integer salary = null;
+        Long companyId = null;
+        Boolean active = null;
+        Long version = null;
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case ID -> id = input.readInt64();
+                case NAME -> name = input.readString();
+                case EMPLOYEE_AGE -> age = input.readInt32();
+                case EMPLOYEE_GENDER -> gender = input.readString();
+                case EMPLOYEE_SALARY -> salary = input.readInt32();
+                case EMPLOYEE_COMPANY_ID -> companyId = input.readInt64();
+                case EMPLOYEE_ACTIVE -> active = input.readBool();
+                case EMPLOYEE_VERSION -> version = input.readInt64();
+                default -> input.skipField(tag);
+            }
+        }
+        Employee employee = new Employee(id, name, age, gender, salary, companyId);
+        employee.setActive(active);
+        employee.setVersion(version);
+        return employee;
+    }
+
+    private static Company readCompany(CodedInputStream input) throws IOException {
+        Long id = null;
+        String name = null;
+        Boolean active = null;
+        Long version = null;
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case ID -> id = input.readInt64();
+                case NAME -> name = input.readString();
+                case COMPANY_ACTIVE -> active = input.readBool();
+                case COMPANY_VERSION -> version = input.readInt64();
+                default -> input.skipField(tag);
+            }
+        }
+        Company company = new Company(id, name);
+        company.setActive(active);
+        company.setVersion(version);
+        return company;
+    }
+
+    private static int int64Size(int field, Long value) {
+        return value == null ? 0 : CodedOutputStream.computeInt64Size(field, value);
+    }
+
+    private static int int32Size(int field, Integer value) {
+        return value == null ? 0 : CodedOutputStream.computeInt32Size(field, value);
+    }
+
+    private static int stringSize(int field, String value) {
+        return value == null ? 0 : CodedOutputStream.computeStringSize(field, value);
+    }
+
+    private static int boolSize(int field, Boolean value) {
+        return value == null ? 0 : CodedOutputStream.computeBoolSize(field, value);
+    }
+}
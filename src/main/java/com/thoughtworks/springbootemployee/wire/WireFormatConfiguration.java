@@ -0,0 +1,78 @@
+package com.thoughtworks.springbootemployee.wire;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.codec.CodecConfigurer;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Binary representations offered next to JSON through content negotiation: Jackson Smile
+ * ({@code application/x-jackson-smile}) and CBOR ({@code application/cbor}) for every payload, and
+ * Protobuf ({@value ProtobufWireFormat#MEDIA_TYPE}) for employees, companies and lists of them.
+ * <p>
+ * The binary formats are ordered after JSON, so JSON stays the answer to requests without an
+ * {@code Accept} header. The Jackson formats share the JSON mapper settings.
+ */
+@Configuration(proxyBeanMethods = false)
+public class WireFormatConfiguration {
+
+    @Bean
+    @Profile("!reactive")
+    public WebMvcConfigurer binaryMessageConvertersConfigurer(Jackson2ObjectMapperBuilder builder) {
+        ObjectMapper smileMapper = smileMapper(builder);
+        ObjectMapper cborMapper = cborMapper(builder);
+        return new WebMvcConfigurer() {
+            @Override
+            public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+                converters.removeIf(converter -> converter instanceof MappingJackson2SmileHttpMessageConverter
+                        || converter instanceof MappingJackson2CborHttpMessageConverter);
+                converters.add(new MappingJackson2SmileHttpMessageConverter(smileMapper));
+                converters.add(new MappingJackson2CborHttpMessageConverter(cborMapper));
+                converters.add(new EntityProtobufHttpMessageConverter());
+            }
+        };
+    }
+
+    @Bean
+    @Profile("reactive")
+    public WebFluxConfigurer binaryCodecsConfigurer(Jackson2ObjectMapperBuilder builder) {
+        ObjectMapper smileMapper = smileMapper(builder);
+        ObjectMapper cborMapper = cborMapper(builder);
+        return new WebFluxConfigurer() {
+            @Override
+            public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+                CodecConfigurer.CustomCodecs codecs = configurer.customCodecs();
+                codecs.register(new Jackson2SmileEncoder(smileMapper));
+                codecs.register(new Jackson2SmileDecoder(smileMapper));
+                codecs.register(new Jackson2CborEncoder(cborMapper));
+                codecs.register(new Jackson2CborDecoder(cborMapper));
+                codecs.register(new EntityProtobufEncoder());
+                codecs.register(new EntityProtobufDecoder());
+            }
+        };
+    }
+
+    private static ObjectMapper smileMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder.factory(new SmileFactory()).build();
+    }
+
+    private static ObjectMapper cborMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder.factory(new CBORFactory()).build();
+    }
+}
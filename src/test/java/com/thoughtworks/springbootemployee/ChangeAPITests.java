@@ -0,0 +1,120 @@
+package com.thoughtworks.springbootemployee;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thoughtworks.springbootemployee.changes.ChangeLog;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.repository.CompanyRepository;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ChangeAPITests {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private ChangeLog changeLog;
+    @Autowired
+    private MockMvc mockMvcClient;
+
+    @BeforeEach
+    void cleanupData() {
+        employeeRepository.cleanAll();
+        companyRepository.cleanAll();
+    }
+
+    @Test
+    void should_return_current_position_when_perform_get_changes_given_no_since() throws Exception {
+        // Given
+        long lastSequence = changeLog.getLastSequence();
+
+        // When
+        MvcResult pending = mockMvcClient.perform(MockMvcRequestBuilders.get("/changes"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvcClient.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(0)))
+                .andExpect(jsonPath("$.nextSince").value(lastSequence));
+    }
+
+    @Test
+    void should_return_created_and_deleted_events_when_perform_get_changes_given_since_before_writes() throws Exception {
+        // Given
+        long since = changeLog.getLastSequence();
+        String body = mockMvcClient.perform(MockMvcRequestBuilders.post("/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsBytes(new Employee(null, "Alice", 24, "Female", 9000, 1L))))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        Employee alice = new ObjectMapper().readValue(body, Employee.class);
+        mockMvcClient.perform(MockMvcRequestBuilders.delete("/employees/" + alice.getId()))
+                .andExpect(status().isNoContent());
+
+        // When
+        MvcResult pending = mockMvcClient.perform(MockMvcRequestBuilders.get("/changes?since=" + since))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvcClient.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(2)))
+                .andExpect(jsonPath("$.changes[0].type").value("CREATED"))
+                .andExpect(jsonPath("$.changes[0].entity").value("employees"))
+                .andExpect(jsonPath("$.changes[0].data.name").value("Alice"))
+                .andExpect(jsonPath("$.changes[1].type").value("DELETED"))
+                .andExpect(jsonPath("$.changes[1].id").value(alice.getId()))
+                .andExpect(jsonPath("$.changes[1].version").value(2))
+                .andExpect(jsonPath("$.nextSince").value(since + 2));
+    }
+
+    @Test
+    void should_hold_poll_until_next_change_when_perform_get_changes_given_since_at_end_of_log() throws Exception {
+        // Given
+        long since = changeLog.getLastSequence();
+        MvcResult pending = mockMvcClient.perform(MockMvcRequestBuilders.get("/changes?since=" + since))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // When
+        employeeRepository.addEmployee(new Employee(null, "Bob", 28, "Male", 8000, 2L));
+
+        // Then
+        mockMvcClient.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(1)))
+                .andExpect(jsonPath("$.changes[0].data.name").value("Bob"));
+    }
+
+    @Test
+    void should_return_410_gone_when_perform_get_changes_given_since_ahead_of_log() throws Exception {
+        // Given
+        long since = changeLog.getLastSequence() + 100;
+
+        // When, Then
+        mockMvcClient.perform(MockMvcRequestBuilders.get("/changes?since=" + since))
+                .andExpect(status().isGone());
+    }
+}
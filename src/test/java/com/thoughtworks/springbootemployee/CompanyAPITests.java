@@ -1,22 +1,41 @@
 package com.thoughtworks.springbootemployee;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.google.protobuf.CodedInputStream;
+import com.thoughtworks.springbootemployee.jobs.EmployeeDeactivationJobs;
 import com.thoughtworks.springbootemployee.model.Company;
 import com.thoughtworks.springbootemployee.model.Employee;
 import com.thoughtworks.springbootemployee.repository.CompanyRepository;
 import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import com.thoughtworks.springbootemployee.wire.ProtobufWireFormat;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -29,11 +48,16 @@ public class CompanyAPITests {
     private EmployeeRepository employeeRepository;
     @Autowired
     private MockMvc mockMvcClient;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private EmployeeDeactivationJobs deactivationJobs;
 
     @BeforeEach
     void cleanupCompanyData() {
         companyRepository.cleanAll();
         employeeRepository.cleanAll();
+        cacheManager.getCacheNames().forEach(cacheName -> cacheManager.getCache(cacheName).clear());
     }
 
     @Test
@@ -72,6 +96,37 @@ public class CompanyAPITests {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void should_return_404_not_found_when_perform_get_employees_given_non_existing_company() throws Exception {
+        // Given
+        Long nonExistingId = 99L;
+        employeeRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000, nonExistingId));
+
+        // When, Then
+        mockMvcClient.perform(MockMvcRequestBuilders.get("/companies/" + nonExistingId + "/employees"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void should_return_companies_with_their_employees_when_perform_get_companies_given_include_employees() throws Exception {
+        // Given
+        Company oocl = companyRepository.addCompany(new Company("OOCL"));
+        Company cargoSmart = companyRepository.addCompany(new Company("CargoSmart"));
+        Employee alice = employeeRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000, oocl.getId()));
+        Employee bob = employeeRepository.addEmployee(new Employee(null, "Bob", 28, "Male", 8000, oocl.getId()));
+
+        // When, Then
+        mockMvcClient.perform(MockMvcRequestBuilders.get("/companies?include=employees"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id").value(oocl.getId()))
+                .andExpect(jsonPath("$[0].employees", hasSize(2)))
+                .andExpect(jsonPath("$[0].employees[0].id").value(alice.getId()))
+                .andExpect(jsonPath("$[0].employees[1].name").value(bob.getName()))
+                .andExpect(jsonPath("$[1].name").value(cargoSmart.getName()))
+                .andExpect(jsonPath("$[1].employees", hasSize(0)));
+    }
+
     @Test
     void should_return_employees_by_given_company_when_perform_get_employees() throws Exception {
         // Given
@@ -119,6 +174,22 @@ public class CompanyAPITests {
                 .andExpect(jsonPath("$.name").value("COSCO"));
     }
 
+    @Test
+    void should_keep_company_deleted_when_perform_update_company_given_active_true_in_body() throws Exception {
+        // Given
+        Company company = companyRepository.addCompany(new Company("OOCL"));
+        companyRepository.deactivateCompany(company.getId());
+
+        // When
+        mockMvcClient.perform(MockMvcRequestBuilders.put("/companies/" + company.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"COSCO\",\"active\":true}"))
+                .andExpect(status().isOk());
+
+        // Then
+        assertFalse(companyRepository.findCompanyById(company.getId()).isActive());
+    }
+
     @Test
     void should_return_response_status_204_no_content_when_perform_delete_company_given_company_id() throws Exception {
         // Given
@@ -129,6 +200,50 @@ public class CompanyAPITests {
                 .andExpect(status().isNoContent());
     }
 
+    @Test
+    void should_deactivate_company_employees_in_background_job_when_perform_delete_company_given_cascade_employees() throws Exception {
+        // Given
+        Company company = companyRepository.addCompany(new Company("OOCL"));
+        Employee alice = employeeRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000, company.getId()));
+        Employee bob = employeeRepository.addEmployee(new Employee(null, "Bob", 28, "Male", 8000, company.getId() + 1));
+        mockMvcClient.perform(MockMvcRequestBuilders.get("/employees/" + alice.getId()))
+                .andExpect(status().isOk());
+
+        // When
+        String body = mockMvcClient.perform(MockMvcRequestBuilders.delete("/companies/" + company.getId())
+                        .param("cascade", "employees"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, containsString("/companies/jobs/")))
+                .andExpect(jsonPath("$.companyId").value(company.getId()))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        long jobId = new ObjectMapper().readTree(body).get("id").asLong();
+        awaitCascadeJob(jobId);
+
+        // Then
+        mockMvcClient.perform(MockMvcRequestBuilders.get("/companies/jobs/" + jobId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("SUCCEEDED"))
+                .andExpect(jsonPath("$.totalEmployees").value(1))
+                .andExpect(jsonPath("$.deactivatedEmployees").value(1));
+        mockMvcClient.perform(MockMvcRequestBuilders.get("/employees/" + alice.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(2));
+        assertTrue(employeeRepository.findEmployeeById(alice.getId()).isInactive());
+        assertFalse(employeeRepository.findEmployeeById(bob.getId()).isInactive());
+    }
+
+    @Test
+    void should_return_404_not_found_when_perform_get_cascade_job_given_unknown_job_id() throws Exception {
+        // Given
+        long unknownJobId = Long.MAX_VALUE;
+
+        // When, Then
+        mockMvcClient.perform(MockMvcRequestBuilders.get("/companies/jobs/" + unknownJobId))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void should_paged_companies_when_perform_get_list_paged_companies_given_pageNumber_and_pageSize() throws Exception {
         // Given
@@ -143,4 +258,158 @@ public class CompanyAPITests {
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].id").value(company.getId()));
     }
+
+    @Test
+    void should_return_page_after_cursor_with_next_cursor_when_perform_get_companies_given_after_and_limit() throws Exception {
+        // Given
+        Company oocl = companyRepository.addCompany(new Company("OOCL"));
+        Company thoughtworks = companyRepository.addCompany(new Company("Thoughtworks"));
+        companyRepository.addCompany(new Company("COSCO"));
+
+        // When, Then
+        mockMvcClient.perform(MockMvcRequestBuilders.get("/companies")
+                        .param("after", oocl.getId().toString())
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id").value(thoughtworks.getId()))
+                .andExpect(jsonPath("$.items[0].name").value("Thoughtworks"))
+                .andExpect(jsonPath("$.nextCursor").value(thoughtworks.getId()));
+    }
+
+    @Test
+    void should_stream_all_companies_as_ndjson_when_perform_get_companies_given_accept_ndjson() throws Exception {
+        // Given
+        companyRepository.addCompany(new Company("OOCL"));
+        companyRepository.addCompany(new Company("Thoughtworks"));
+
+        // When
+        MvcResult result = mockMvcClient.perform(MockMvcRequestBuilders.get("/companies")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvcClient.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"name\":\"OOCL\"")))
+                .andExpect(content().string(containsString("\"name\":\"Thoughtworks\"")));
+    }
+
+    @Test
+    void should_return_created_companies_when_perform_add_companies_batch_given_new_companies() throws Exception {
+        // Given
+        List<Company> newCompanies = List.of(new Company("OOCL"), new Company("Thoughtworks"));
+
+        // When, Then
+        mockMvcClient.perform(MockMvcRequestBuilders.post("/companies/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsBytes(newCompanies)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].status").value(201))
+                .andExpect(jsonPath("$[0].entity.name").value("OOCL"))
+                .andExpect(jsonPath("$[1].entity.id").value(notNullValue()))
+                .andExpect(jsonPath("$[1].entity.name").value("Thoughtworks"));
+    }
+
+    @Test
+    void should_return_payroll_stats_of_active_employees_when_perform_get_company_stats_given_company_id() throws Exception {
+        // Given
+        Company company = companyRepository.addCompany(new Company(null, "Thoughtworks"));
+        employeeRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000, company.getId()));
+        employeeRepository.addEmployee(new Employee(null, "Bob", 28, "Male", 7000, company.getId()));
+        Employee carl = employeeRepository.addEmployee(new Employee(null, "Carl", 41, "Male", 3000, company.getId()));
+        employeeRepository.deactivateEmployee(carl.getId());
+
+        // When, Then
+        mockMvcClient.perform(MockMvcRequestBuilders.get("/companies/" + company.getId() + "/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.headcount").value(2))
+                .andExpect(jsonPath("$.totalSalary").value(16000))
+                .andExpect(jsonPath("$.averageSalary").value(8000.0))
+                .andExpect(jsonPath("$.minSalary").value(7000))
+                .andExpect(jsonPath("$.maxSalary").value(9000))
+                .andExpect(jsonPath("$.ageDistribution['20-29']").value(2));
+    }
+
+    @Test
+    void should_return_404_when_perform_get_company_stats_given_non_existing_company_id() throws Exception {
+        // Given
+        long nonExistingId = 99L;
+
+        // When, Then
+        mockMvcClient.perform(MockMvcRequestBuilders.get("/companies/" + nonExistingId + "/stats"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void should_return_companies_as_smile_when_perform_get_companies_given_accept_smile() throws Exception {
+        // Given
+        Company company = companyRepository.addCompany(new Company("OOCL"));
+
+        // When
+        byte[] body = mockMvcClient.perform(MockMvcRequestBuilders.get("/companies")
+                        .accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-jackson-smile"))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        // Then
+        JsonNode companies = new ObjectMapper(new SmileFactory()).readTree(body);
+        assertEquals(1, companies.size());
+        assertEquals(company.getName(), companies.get(0).get("name").asText());
+    }
+
+    @Test
+    void should_return_company_employees_as_protobuf_when_perform_get_company_employees_given_accept_protobuf() throws Exception {
+        // Given
+        Company company = companyRepository.addCompany(new Company("OOCL"));
+        Employee alice = employeeRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000, company.getId()));
+
+        // When
+        byte[] body = mockMvcClient.perform(MockMvcRequestBuilders.get("/companies/" + company.getId() + "/employees")
+                        .accept(ProtobufWireFormat.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        // Then
+        List<Employee> employees = ProtobufWireFormat.readList(Employee.class, CodedInputStream.newInstance(body));
+        assertEquals(1, employees.size());
+        assertEquals(alice.getId(), employees.get(0).getId());
+        assertEquals(company.getId(), employees.get(0).getCompanyId());
+    }
+
+    @Test
+    void should_return_412_precondition_failed_when_perform_update_company_given_if_match_from_before_soft_delete() throws Exception {
+        // Given
+        Company company = companyRepository.addCompany(new Company("OOCL"));
+        String etag = mockMvcClient.perform(MockMvcRequestBuilders.get("/companies/" + company.getId()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        mockMvcClient.perform(MockMvcRequestBuilders.delete("/companies/" + company.getId()))
+                .andExpect(status().isNoContent());
+
+        // When, Then
+        mockMvcClient.perform(MockMvcRequestBuilders.put("/companies/" + company.getId())
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsBytes(new Company("COSCO"))))
+                .andExpect(status().isPreconditionFailed());
+        assertEquals("OOCL", companyRepository.findCompanyById(company.getId()).getName());
+        assertEquals(company.getVersion() + 1, companyRepository.findCompanyById(company.getId()).getVersion());
+    }
+
+    private void awaitCascadeJob(long jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!deactivationJobs.findById(jobId).isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
 }
@@ -1,20 +1,37 @@
 package com.thoughtworks.springbootemployee;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.google.protobuf.CodedInputStream;
 import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.repository.ConcurrentEntityStore;
 import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import com.thoughtworks.springbootemployee.wire.ProtobufWireFormat;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -25,10 +42,13 @@ public class EmployeeAPITests {
     private EmployeeRepository employeeRepository;
     @Autowired
     private MockMvc mockMvcClient;
+    @Autowired
+    private CacheManager cacheManager;
 
     @BeforeEach
     void cleanupEmployeeData() {
         employeeRepository.cleanAll();
+        cacheManager.getCacheNames().forEach(cacheName -> cacheManager.getCache(cacheName).clear());
     }
 
     @Test
@@ -124,6 +144,21 @@ public class EmployeeAPITests {
                 .andExpect(jsonPath("$.salary").value(10000));
     }
 
+    @Test
+    void should_keep_employee_active_when_perform_update_employee_given_active_false_in_body() throws Exception {
+        // Given
+        Employee alice = employeeRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000));
+
+        // When
+        mockMvcClient.perform(MockMvcRequestBuilders.put("/employees/" + alice.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"age\":30,\"salary\":10000,\"active\":false}"))
+                .andExpect(status().isOk());
+
+        // Then
+        assertFalse(employeeRepository.findEmployeeById(alice.getId()).isInactive());
+    }
+
     @Test
     void should_return_response_status_204_no_content_when_perform_delete_employee_given_an_employee_id() throws Exception {
         // Given
@@ -152,4 +187,388 @@ public class EmployeeAPITests {
                 .andExpect(jsonPath("$[0].gender").value(alice.getGender()))
                 .andExpect(jsonPath("$[0].salary").value(alice.getSalary()));
     }
+
+    @Test
+    void should_return_page_after_cursor_with_next_cursor_when_perform_get_employees_given_after_and_limit() throws Exception {
+        // Given
+        Employee alice = employeeRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000));
+        Employee bob = employeeRepository.addEmployee(new Employee(null, "Bob", 28, "Male", 8000));
+        employeeRepository.addEmployee(new Employee(null, "Carl", 32, "Male", 7000));
+
+        // When, Then
+        mockMvcClient.perform(MockMvcRequestBuilders.get("/employees")
+                        .param("after", alice.getId().toString())
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id").value(bob.getId()))
+                .andExpect(jsonPath("$.items[0].name").value(bob.getName()))
+                .andExpect(jsonPath("$.nextCursor").value(bob.getId()));
+    }
+
+    @Test
+    void should_return_last_page_without_next_cursor_when_perform_get_employees_given_limit_covering_remaining_employees() throws Exception {
+        // Given
+        employeeRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000));
+        employeeRepository.addEmployee(new Employee(null, "Bob", 28, "Male", 8000));
+
+        // When, Then
+        mockMvcClient.perform(MockMvcRequestBuilders.get("/employees")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void should_return_400_bad_request_when_perform_get_employees_given_non_positive_limit() throws Exception {
+        // Given
+        employeeRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000));
+
+        // When, Then
+        mockMvcClient.perform(MockMvcRequestBuilders.get("/employees")
+                        .param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void should_cap_page_size_when_perform_get_employees_given_limit_above_maximum() throws Exception {
+        // Given
+        for (int i = 0; i <= ConcurrentEntityStore.MAX_PAGE_LIMIT; i++) {
+            employeeRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000));
+        }
+
+        // When, Then
+        mockMvcClient.perform(MockMvcRequestBuilders.get("/employees")
+                        .param("limit", String.valueOf(Integer.MAX_VALUE)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(ConcurrentEntityStore.MAX_PAGE_LIMIT)))
+                .andExpect(jsonPath("$.nextCursor").value(ConcurrentEntityStore.MAX_PAGE_LIMIT));
+    }
+
+    @Test
+    void should_stream_all_employees_as_ndjson_when_perform_get_employees_given_accept_ndjson() throws Exception {
+        // Given
+        Employee alice = employeeRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000));
+        Employee bob = employeeRepository.addEmployee(new Employee(null, "Bob", 28, "Male", 8000));
+
+        // When
+        MvcResult result = mockMvcClient.perform(MockMvcRequestBuilders.get("/employees")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        String[] rows = mockMvcClient.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString()
+                .split("\n");
+        ObjectMapper objectMapper = new ObjectMapper();
+        assertEquals(2, rows.length);
+        assertEquals(alice.getName(), objectMapper.readValue(rows[0], Employee.class).getName());
+        assertEquals(bob.getName(), objectMapper.readValue(rows[1], Employee.class).getName());
+    }
+
+    @Test
+    void should_return_per_item_results_when_perform_update_employees_batch_given_existing_and_non_existing_ids() throws Exception {
+        // Given
+        Employee alice = employeeRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000));
+        Employee updatedAliceInfo = new Employee(alice.getId(), null, 30, null, 10000);
+        Employee nonExistingEmployeeInfo = new Employee(99L, null, 30, null, 10000);
+
+        // When, Then
+        mockMvcClient.perform(MockMvcRequestBuilders.put("/employees/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsBytes(List.of(updatedAliceInfo, nonExistingEmployeeInfo))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[0].entity.age").value(30))
+                .andExpect(jsonPath("$[0].entity.salary").value(10000))
+                .andExpect(jsonPath("$[1].index").value(1))
+                .andExpect(jsonPath("$[1].status").value(404))
+                .andExpect(jsonPath("$[1].error").value("Employee not found"));
+    }
+
+    @Test
+    void should_return_updated_employee_when_perform_get_employee_given_cached_employee_updated_afterwards() throws Exception {
+        // Given
+        Employee alice = employeeRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000));
+        mockMvcClient.perform(MockMvcRequestBuilders.get("/employees/" + alice.getId()))
+                .andExpect(jsonPath("$.age").value(24));
+        Employee updatedEmployeeInfo = new Employee(null, null, 30, null, 10000);
+        mockMvcClient.perform(MockMvcRequestBuilders.put("/employees/" + alice.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsBytes(updatedEmployeeInfo)))
+                .andExpect(status().isOk());
+
+        // When, Then
+        mockMvcClient.perform(MockMvcRequestBuilders.get("/employees/" + alice.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.age").value(30))
+                .andExpect(jsonPath("$.salary").value(10000));
+    }
+
+    @Test
+    void should_return_payroll_stats_by_gender_when_perform_get_employee_stats_given_gender() throws Exception {
+        // Given
+        employeeRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000));
+        employeeRepository.addEmployee(new Employee(null, "Ellen", 34, "Female", 5000));
+        employeeRepository.addEmployee(new Employee(null, "Bob", 28, "Male", 8000));
+
+        // When, Then
+        mockMvcClient.perform(MockMvcRequestBuilders.get("/employees/stats").param("gender", "Female"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.headcount").value(2))
+                .andExpect(jsonPath("$.totalSalary").value(14000))
+                .andExpect(jsonPath("$.minSalary").value(5000))
+                .andExpect(jsonPath("$.maxSalary").value(9000))
+                .andExpect(jsonPath("$.ageDistribution['20-29']").value(1))
+                .andExpect(jsonPath("$.ageDistribution['30-39']").value(1));
+        mockMvcClient.perform(MockMvcRequestBuilders.get("/employees/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.headcount").value(3))
+                .andExpect(jsonPath("$.averageSalary").value(7333.333333333333));
+    }
+
+    @Test
+    void should_return_matching_employees_when_perform_query_employees_given_multi_predicate_query() throws Exception {
+        // Given
+        Employee alice = employeeRepository.addEmployee(new Employee(null, "Alice", 30, "Female", 9000, 3L));
+        employeeRepository.addEmployee(new Employee(null, "Bob", 45, "Male", 9000, 3L));
+        employeeRepository.addEmployee(new Employee(null, "Carl", 30, "Male", 5000, 3L));
+        employeeRepository.addEmployee(new Employee(null, "David", 30, "Male", 9000, 2L));
+
+        // When, Then
+        mockMvcClient.perform(MockMvcRequestBuilders.get("/employees/query")
+                        .param("q", "active=true AND companyId=3 AND age=25..40 AND salary>6000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(alice.getId()));
+    }
+
+    @Test
+    void should_return_400_bad_request_when_perform_query_employees_given_unknown_field() throws Exception {
+        // When, Then
+        mockMvcClient.perform(MockMvcRequestBuilders.get("/employees/query").param("q", "height>180"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void should_return_top_earners_when_perform_get_sorted_employees_given_salary_descending_and_limit() throws Exception {
+        // Given
+        employeeRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000));
+        Employee bob = employeeRepository.addEmployee(new Employee(null, "Bob", 28, "Male", 12000));
+        employeeRepository.addEmployee(new Employee(null, "Carl", 45, "Male", 5000));
+
+        // When, Then
+        mockMvcClient.perform(MockMvcRequestBuilders.get("/employees/sorted")
+                        .param("by", "salary")
+                        .param("order", "desc")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(bob.getId()));
+    }
+
+    @Test
+    void should_return_employees_within_bounds_when_perform_get_employee_range_given_age_bounds() throws Exception {
+        // Given
+        employeeRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000));
+        Employee bob = employeeRepository.addEmployee(new Employee(null, "Bob", 30, "Male", 12000));
+        Employee carl = employeeRepository.addEmployee(new Employee(null, "Carl", 40, "Male", 5000));
+
+        // When, Then
+        mockMvcClient.perform(MockMvcRequestBuilders.get("/employees/range")
+                        .param("by", "age")
+                        .param("min", "30")
+                        .param("max", "40"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id").value(bob.getId()))
+                .andExpect(jsonPath("$[1].id").value(carl.getId()));
+    }
+
+    @Test
+    void should_return_400_bad_request_when_perform_get_employee_range_given_min_above_max() throws Exception {
+        // When, Then
+        mockMvcClient.perform(MockMvcRequestBuilders.get("/employees/range")
+                        .param("by", "age")
+                        .param("min", "40")
+                        .param("max", "30"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void should_return_400_bad_request_when_perform_query_employees_given_inverted_range() throws Exception {
+        // When, Then
+        mockMvcClient.perform(MockMvcRequestBuilders.get("/employees/query").param("q", "age=40..30"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void should_return_employees_as_json_when_perform_get_employees_given_no_accept_header() throws Exception {
+        // Given
+        employeeRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000));
+
+        // When, Then
+        mockMvcClient.perform(MockMvcRequestBuilders.get("/employees"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void should_return_employees_as_cbor_when_perform_get_employees_given_accept_cbor() throws Exception {
+        // Given
+        Employee alice = employeeRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000));
+
+        // When
+        byte[] body = mockMvcClient.perform(MockMvcRequestBuilders.get("/employees")
+                        .accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/cbor"))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        // Then
+        Employee[] employees = new ObjectMapper(new CBORFactory()).readValue(body, Employee[].class);
+        assertEquals(1, employees.length);
+        assertEquals(alice.getId(), employees[0].getId());
+        assertEquals(alice.getName(), employees[0].getName());
+        assertEquals(alice.getSalary(), employees[0].getSalary());
+    }
+
+    @Test
+    void should_return_employees_as_protobuf_when_perform_get_employees_given_accept_protobuf() throws Exception {
+        // Given
+        Employee alice = employeeRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000, 1L));
+        Employee bob = employeeRepository.addEmployee(new Employee(null, "Bob", 28, "Male", 8000, 2L));
+
+        // When
+        byte[] body = mockMvcClient.perform(MockMvcRequestBuilders.get("/employees")
+                        .accept(ProtobufWireFormat.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(ProtobufWireFormat.MEDIA_TYPE))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        // Then
+        List<Employee> employees = ProtobufWireFormat.readList(Employee.class, CodedInputStream.newInstance(body));
+        assertEquals(2, employees.size());
+        assertEquals(alice.getName(), employees.get(0).getName());
+        assertEquals(alice.getCompanyId(), employees.get(0).getCompanyId());
+        assertEquals(bob.getGender(), employees.get(1).getGender());
+        assertEquals(bob.getAge(), employees.get(1).getAge());
+    }
+
+    @Test
+    void should_create_employee_when_perform_post_employees_given_protobuf_body() throws Exception {
+        // Given
+        Employee newEmployee = new Employee(null, "Alice", 24, "Female", 9000, 1L);
+
+        // When
+        byte[] body = mockMvcClient.perform(MockMvcRequestBuilders.post("/employees")
+                        .contentType(ProtobufWireFormat.MEDIA_TYPE)
+                        .accept(ProtobufWireFormat.MEDIA_TYPE)
+                        .content(ProtobufWireFormat.toBytes(newEmployee)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        // Then
+        Employee created = ProtobufWireFormat.read(Employee.class, CodedInputStream.newInstance(body));
+        assertEquals(newEmployee.getName(), created.getName());
+        assertEquals(newEmployee.getSalary(), created.getSalary());
+        assertEquals(newEmployee.getName(), employeeRepository.findEmployeeById(created.getId()).getName());
+    }
+
+    @Test
+    void should_return_304_not_modified_when_perform_get_employee_given_if_none_match_of_current_version() throws Exception {
+        // Given
+        Employee alice = employeeRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000));
+        String etag = mockMvcClient.perform(MockMvcRequestBuilders.get("/employees/" + alice.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, endsWith(".1\"")))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        // When, Then
+        mockMvcClient.perform(MockMvcRequestBuilders.get("/employees/" + alice.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void should_return_304_until_employees_change_when_perform_get_employees_given_if_none_match_of_listing() throws Exception {
+        // Given
+        employeeRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000));
+        String etag = mockMvcClient.perform(MockMvcRequestBuilders.get("/employees"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        // When, Then
+        mockMvcClient.perform(MockMvcRequestBuilders.get("/employees")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        employeeRepository.addEmployee(new Employee(null, "Bob", 28, "Male", 8000));
+        mockMvcClient.perform(MockMvcRequestBuilders.get("/employees")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+
+    @Test
+    void should_return_200_with_vary_accept_when_perform_get_employees_given_if_none_match_of_other_representation() throws Exception {
+        // Given
+        employeeRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000));
+        String jsonEtag = mockMvcClient.perform(MockMvcRequestBuilders.get("/employees")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        // When, Then
+        mockMvcClient.perform(MockMvcRequestBuilders.get("/employees")
+                        .accept("application/cbor")
+                        .header(HttpHeaders.IF_NONE_MATCH, jsonEtag))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/cbor"));
+    }
+
+    @Test
+    void should_return_412_precondition_failed_when_perform_update_employee_given_stale_if_match() throws Exception {
+        // Given
+        Employee alice = employeeRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000));
+        String etag = mockMvcClient.perform(MockMvcRequestBuilders.get("/employees/" + alice.getId()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        mockMvcClient.perform(MockMvcRequestBuilders.put("/employees/" + alice.getId())
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsBytes(new Employee(null, null, 25, null, 10000))))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, endsWith(".2\"")))
+                .andExpect(jsonPath("$.version").value(2));
+
+        // When, Then
+        mockMvcClient.perform(MockMvcRequestBuilders.put("/employees/" + alice.getId())
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsBytes(new Employee(null, null, 26, null, 11000))))
+                .andExpect(status().isPreconditionFailed());
+        assertEquals(10000, employeeRepository.findEmployeeById(alice.getId()).getSalary());
+    }
 }
@@ -0,0 +1,241 @@
+package com.thoughtworks.springbootemployee;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.CodedInputStream;
+import com.thoughtworks.springbootemployee.changes.ChangeLog;
+import com.thoughtworks.springbootemployee.jobs.EmployeeDeactivationJobs;
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.repository.CompanyRepository;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import com.thoughtworks.springbootemployee.wire.ProtobufWireFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("reactive")
+@AutoConfigureWebTestClient
+public class ReactiveAPITests {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private ChangeLog changeLog;
+    @Autowired
+    private EmployeeDeactivationJobs deactivationJobs;
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void cleanupData() {
+        employeeRepository.cleanAll();
+        companyRepository.cleanAll();
+    }
+
+    @Test
+    void should_stream_all_employees_when_get_employees_as_ndjson_given_reactive_profile() {
+        // Given
+        Employee alice = employeeRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000));
+        Employee bob = employeeRepository.addEmployee(new Employee(null, "Bob", 28, "Male", 8000));
+
+        // When
+        List<Employee> employees = webTestClient.get().uri("/employees")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(Employee.class)
+                .returnResult()
+                .getResponseBody();
+
+        // Then
+        assertEquals(2, employees.size());
+        assertEquals(alice.getId(), employees.get(0).getId());
+        assertEquals(bob.getId(), employees.get(1).getId());
+    }
+
+    @Test
+    void should_return_404_when_get_employee_given_reactive_profile_and_non_existing_id() {
+        // Given
+        long nonExistingId = 99L;
+
+        // When, Then
+        webTestClient.get().uri("/employees/" + nonExistingId)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void should_stream_company_employees_when_get_company_employees_given_reactive_profile() {
+        // Given
+        Company company = companyRepository.addCompany(new Company("OOCL"));
+        Employee alice = employeeRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000, company.getId()));
+        employeeRepository.addEmployee(new Employee(null, "Bob", 28, "Male", 8000, company.getId() + 1));
+
+        // When, Then
+        webTestClient.get().uri("/companies/" + company.getId() + "/employees")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo(alice.getId().intValue())
+                .jsonPath("$[0].name").isEqualTo(alice.getName());
+    }
+
+    @Test
+    void should_soft_delete_employee_when_delete_employee_given_reactive_profile() {
+        // Given
+        Employee alice = employeeRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000));
+
+        // When
+        webTestClient.delete().uri("/employees/" + alice.getId())
+                .exchange()
+                .expectStatus().isNoContent();
+
+        // Then
+        assertTrue(employeeRepository.findEmployeeById(alice.getId()).isInactive());
+    }
+
+    @Test
+    void should_return_employees_as_json_when_get_employees_given_reactive_profile_and_no_accept_header() {
+        // Given
+        employeeRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000));
+
+        // When, Then
+        webTestClient.get().uri("/employees")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    void should_return_employees_as_protobuf_when_get_employees_given_reactive_profile_and_accept_protobuf() throws Exception {
+        // Given
+        Employee alice = employeeRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000, 1L));
+        Employee bob = employeeRepository.addEmployee(new Employee(null, "Bob", 28, "Male", 8000, 2L));
+
+        // When
+        byte[] body = webTestClient.get().uri("/employees")
+                .accept(MediaType.parseMediaType(ProtobufWireFormat.MEDIA_TYPE))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .returnResult()
+                .getResponseBody();
+
+        // Then
+        List<Employee> employees = ProtobufWireFormat.readList(Employee.class, CodedInputStream.newInstance(body));
+        assertEquals(2, employees.size());
+        assertEquals(alice.getName(), employees.get(0).getName());
+        assertEquals(bob.getCompanyId(), employees.get(1).getCompanyId());
+    }
+
+    @Test
+    void should_return_304_not_modified_when_get_employees_given_reactive_profile_and_if_none_match_of_listing() {
+        // Given
+        employeeRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000));
+        String etag = webTestClient.get().uri("/employees")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(Employee.class)
+                .getResponseHeaders()
+                .getETag();
+
+        // When, Then
+        webTestClient.get().uri("/employees")
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    void should_return_updated_event_when_get_changes_given_reactive_profile_and_since_before_update() {
+        // Given
+        Employee alice = employeeRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000, 1L));
+        long since = changeLog.getLastSequence();
+        alice.setSalary(9500);
+        employeeRepository.updateEmployee(alice.getId(), alice);
+
+        // When, Then
+        webTestClient.get().uri("/changes?since=" + since)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.changes.length()").isEqualTo(1)
+                .jsonPath("$.changes[0].type").isEqualTo("UPDATED")
+                .jsonPath("$.changes[0].data.salary").isEqualTo(9500)
+                .jsonPath("$.nextSince").isEqualTo(since + 1);
+    }
+
+    @Test
+    void should_return_404_when_get_company_employees_given_reactive_profile_and_non_existing_company() {
+        // Given
+        long nonExistingId = 99L;
+        employeeRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000, nonExistingId));
+
+        // When, Then
+        webTestClient.get().uri("/companies/" + nonExistingId + "/employees")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void should_return_companies_with_their_employees_when_get_companies_given_reactive_profile_and_include_employees() {
+        // Given
+        Company company = companyRepository.addCompany(new Company("OOCL"));
+        Employee alice = employeeRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000, company.getId()));
+
+        // When, Then
+        webTestClient.get().uri("/companies?include=employees")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].name").isEqualTo(company.getName())
+                .jsonPath("$[0].employees[0].id").isEqualTo(alice.getId().intValue());
+    }
+
+    @Test
+    void should_accept_cascade_job_when_delete_company_given_reactive_profile_and_cascade_employees() throws Exception {
+        // Given
+        Company company = companyRepository.addCompany(new Company("OOCL"));
+        Employee alice = employeeRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000, company.getId()));
+
+        // When
+        byte[] body = webTestClient.delete().uri("/companies/" + company.getId() + "?cascade=employees")
+                .exchange()
+                .expectStatus().isAccepted()
+                .expectBody()
+                .returnResult()
+                .getResponseBody();
+        long jobId = new ObjectMapper().readTree(body).get("id").asLong();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!deactivationJobs.findById(jobId).isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        // Then
+        webTestClient.get().uri("/companies/jobs/" + jobId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.state").isEqualTo("SUCCEEDED")
+                .jsonPath("$.deactivatedEmployees").isEqualTo(1);
+        assertTrue(employeeRepository.findEmployeeById(alice.getId()).isInactive());
+    }
+}
@@ -0,0 +1,128 @@
+package com.thoughtworks.springbootemployee.changes;
+
+import com.thoughtworks.springbootemployee.exception.ChangeFeedExpiredException;
+import com.thoughtworks.springbootemployee.model.ChangeEvent;
+import com.thoughtworks.springbootemployee.model.ChangeFeedPage;
+import com.thoughtworks.springbootemployee.model.ChangeType;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.repository.ConcurrentEntityStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ChangeLogTest {
+
+    private ChangeLog changeLog;
+    private ConcurrentEntityStore<Employee> store;
+
+    @BeforeEach
+    void setUp() {
+        changeLog = new ChangeLog(4);
+        store = new ConcurrentEntityStore<>(Employee::getId, Employee::copy);
+        changeLog.attach("employees", store, Employee::getId, Employee::getVersion, Employee::isInactive,
+                Employee::copy);
+    }
+
+    @AfterEach
+    void tearDown() {
+        changeLog.destroy();
+    }
+
+    @Test
+    void should_capture_created_updated_and_deleted_events_in_order_when_read_after_given_employee_writes() {
+        // Given
+        store.insert(new Employee(1L, "Alice", 30, "Female", 5000, 1L));
+        store.update(1L, employee -> employee.setSalary(6000));
+        store.update(1L, employee -> employee.setActive(Boolean.FALSE));
+
+        // When
+        ChangeFeedPage page = changeLog.readAfter(0L, 10);
+
+        // Then
+        assertEquals(List.of(ChangeType.CREATED, ChangeType.UPDATED, ChangeType.DELETED),
+                page.getChanges().stream().map(ChangeEvent::getType).collect(Collectors.toList()));
+        assertEquals(List.of(1L, 2L, 3L),
+                page.getChanges().stream().map(ChangeEvent::getSequence).collect(Collectors.toList()));
+        assertEquals(6000, ((Employee) page.getChanges().get(1).getData()).getSalary());
+        assertEquals(3L, page.getNextSince());
+    }
+
+    @Test
+    void should_throw_expired_when_read_after_given_position_overwritten_by_ring_or_ahead_of_log() {
+        // Given
+        for (long id = 1; id <= 6; id++) {
+            store.insert(new Employee(id, "Employee " + id, 30, "Female", 5000, 1L));
+        }
+
+        // When
+        ChangeFeedPage page = changeLog.readAfter(2L, 10);
+
+        // Then
+        assertEquals(List.of(3L, 4L, 5L, 6L),
+                page.getChanges().stream().map(ChangeEvent::getId).collect(Collectors.toList()));
+        assertThrows(ChangeFeedExpiredException.class, () -> changeLog.readAfter(1L, 10));
+        assertThrows(ChangeFeedExpiredException.class, () -> changeLog.readAfter(7L, 10));
+    }
+
+    @Test
+    void should_complete_waiter_when_await_after_given_next_append() throws Exception {
+        // Given
+        CompletableFuture<Void> cancelled = changeLog.awaitAfter(0L);
+        CompletableFuture<Void> waiter = changeLog.awaitAfter(0L);
+        cancelled.cancel(true);
+        assertFalse(waiter.isDone());
+
+        // When
+        store.insert(new Employee(1L, "Alice", 30, "Female", 5000, 1L));
+
+        // Then
+        waiter.get(5, TimeUnit.SECONDS);
+        assertTrue(changeLog.awaitAfter(0L).isDone());
+    }
+
+    @Test
+    void should_drop_waiter_when_await_after_given_waiter_cancelled_or_completed() throws Exception {
+        // Given
+        CompletableFuture<Void> cancelled = changeLog.awaitAfter(0L);
+        CompletableFuture<Void> waiter = changeLog.awaitAfter(0L);
+
+        // When
+        cancelled.cancel(false);
+
+        // Then
+        assertEquals(1, changeLog.getWaiterCount());
+        store.insert(new Employee(1L, "Alice", 30, "Female", 5000, 1L));
+        waiter.get(5, TimeUnit.SECONDS);
+        assertEquals(0, changeLog.getWaiterCount());
+    }
+
+    @Test
+    void should_hide_events_until_batch_commits_when_read_after_given_batch_in_progress() {
+        // Given
+        long[] insideBatch = new long[1];
+
+        // When
+        store.batch(() -> {
+            store.insert(new Employee(1L, "Alice", 30, "Female", 5000, 1L));
+            store.insert(new Employee(2L, "Bob", 31, "Male", 5000, 1L));
+            insideBatch[0] = changeLog.getLastSequence();
+            return null;
+        });
+
+        // Then
+        assertEquals(0L, insideBatch[0]);
+        assertEquals(2L, changeLog.getLastSequence());
+        assertEquals(List.of(1L, 2L), changeLog.readAfter(0L, 10).getChanges().stream()
+                .map(ChangeEvent::getId).collect(Collectors.toList()));
+    }
+}
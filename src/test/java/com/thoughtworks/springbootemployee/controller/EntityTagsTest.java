@@ -0,0 +1,27 @@
+package com.thoughtworks.springbootemployee.controller;
+
+import com.thoughtworks.springbootemployee.exception.VersionConflictException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class EntityTagsTest {
+
+    @Test
+    void should_differ_and_only_match_own_epoch_when_of_given_same_version_under_two_epochs() {
+        // Given
+        String accept = "application/json";
+
+        // When
+        String beforeRestart = EntityTags.of("1a2b", 3L, accept);
+        String afterRestart = EntityTags.of("3c4d", 3L, accept);
+
+        // Then
+        assertNotEquals(beforeRestart, afterRestart);
+        assertEquals(3L, EntityTags.expectedVersion("3c4d", afterRestart));
+        assertThrows(VersionConflictException.class, () -> EntityTags.expectedVersion("3c4d", beforeRestart));
+        assertThrows(VersionConflictException.class, () -> EntityTags.expectedVersion("3c4d", "\"3\""));
+    }
+}
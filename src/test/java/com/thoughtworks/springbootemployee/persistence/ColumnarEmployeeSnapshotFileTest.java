@@ -0,0 +1,57 @@
+package com.thoughtworks.springbootemployee.persistence;
+
+import com.thoughtworks.springbootemployee.model.Employee;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ColumnarEmployeeSnapshotFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void should_read_back_every_column_when_read_given_written_columnar_snapshot() {
+        // Given
+        Employee alice = new Employee(1L, "Alice", 30, "Female", 5000, 1L);
+        alice.setActive(Boolean.FALSE);
+        Employee bob = new Employee(2L, "Bob", null, "Male", null);
+        Employee ellen = new Employee(5L, "Ellen", 34, "Female", 6000, 3L);
+        ellen.setActive(Boolean.TRUE);
+        ColumnarEmployeeSnapshotFile snapshotFile = new ColumnarEmployeeSnapshotFile(directory);
+        snapshotFile.write(7L, List.of(alice, bob, ellen));
+
+        // When
+        SnapshotFile.Snapshot<Employee> snapshot = snapshotFile.read().orElseThrow();
+
+        // Then
+        List<Employee> employees = snapshot.getEntities();
+        assertEquals(7L, snapshot.getLastSegment());
+        assertEquals(3, employees.size());
+        assertEquals("Alice", employees.get(0).getName());
+        assertEquals(30, employees.get(0).getAge());
+        assertEquals(1L, employees.get(0).getCompanyId());
+        assertFalse(employees.get(0).isActive());
+        assertNull(employees.get(1).getAge());
+        assertNull(employees.get(1).getSalary());
+        assertNull(employees.get(1).getCompanyId());
+        assertNull(employees.get(1).isActive());
+        assertEquals(5L, employees.get(2).getId());
+        assertEquals(6000, employees.get(2).getSalary());
+        assertTrue(employees.get(2).isActive());
+        assertSame(employees.get(0).getGender(), employees.get(2).getGender());
+    }
+
+    @Test
+    void should_return_empty_when_read_given_no_columnar_snapshot_written() {
+        assertTrue(new ColumnarEmployeeSnapshotFile(directory).read().isEmpty());
+    }
+}
@@ -0,0 +1,66 @@
+package com.thoughtworks.springbootemployee.persistence;
+
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.repository.AtomicIdGenerator;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FileEntityJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void should_recover_seeded_and_written_employees_when_restart_given_write_ahead_log_only() {
+        // Given
+        FileEntityJournal<Employee> journal = openJournal();
+        EmployeeRepository employeeRepository = new EmployeeRepository(new AtomicIdGenerator(), journal);
+        Employee lucy = employeeRepository.addEmployee(new Employee(null, "Lucy", 20, "Female", 3000, 1L));
+        employeeRepository.updateEmployee(lucy.getId(), new Employee(null, null, 21, null, 3500));
+        journal.close();
+
+        // When
+        EmployeeRepository recoveredRepository = new EmployeeRepository(new AtomicIdGenerator(), openJournal());
+
+        // Then
+        List<Employee> employees = recoveredRepository.getAllEmployees();
+        assertEquals(6, employees.size());
+        Employee recoveredLucy = recoveredRepository.findEmployeeById(lucy.getId());
+        assertEquals("Lucy", recoveredLucy.getName());
+        assertEquals(21, recoveredLucy.getAge());
+        assertEquals(3500, recoveredLucy.getSalary());
+    }
+
+    @Test
+    void should_recover_snapshot_and_later_log_records_when_restart_given_snapshot_taken_between_writes() {
+        // Given
+        FileEntityJournal<Employee> journal = openJournal();
+        EmployeeRepository employeeRepository = new EmployeeRepository(new AtomicIdGenerator(), journal);
+        employeeRepository.cleanAll();
+        Employee lucy = employeeRepository.addEmployee(new Employee(null, "Lucy", 20, "Female", 3000, 1L));
+        journal.snapshot();
+        employeeRepository.deactivateEmployee(lucy.getId());
+        Employee tom = employeeRepository.addEmployee(new Employee(null, "Tom", 30, "Male", 4000, 2L));
+        journal.close();
+
+        // When
+        EmployeeRepository recoveredRepository = new EmployeeRepository(new AtomicIdGenerator(), openJournal());
+
+        // Then
+        assertEquals(2, recoveredRepository.getAllEmployees().size());
+        assertTrue(recoveredRepository.findEmployeeById(lucy.getId()).isInactive());
+        assertEquals("Tom", recoveredRepository.findEmployeeById(tom.getId()).getName());
+        assertEquals(tom.getId() + 1, recoveredRepository.addEmployee(new Employee(null, "Amy", 25, "Female", 5000, 1L)).getId());
+    }
+
+    private FileEntityJournal<Employee> openJournal() {
+        return new FileEntityJournal<>(directory, new EmployeeCodec(), Employee::getId, true);
+    }
+}
@@ -0,0 +1,75 @@
+package com.thoughtworks.springbootemployee.query;
+
+import com.thoughtworks.springbootemployee.exception.InvalidQueryException;
+import com.thoughtworks.springbootemployee.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EmployeeQueryParserTest {
+
+    @Test
+    void should_match_only_employees_satisfying_every_condition_when_parse_given_and_of_equality_range_and_comparison() {
+        // Given
+        String query = "active=true AND companyId=3 AND age=25..40 AND salary>6000";
+        Employee matching = new Employee(1L, "Alice", 30, "Female", 7000, 3L);
+        Employee tooYoung = new Employee(2L, "Bob", 24, "Male", 7000, 3L);
+        Employee inactive = new Employee(3L, "Carl", 30, "Male", 7000, 3L);
+        inactive.setActive(Boolean.FALSE);
+
+        // When
+        EmployeeQuery parsedQuery = EmployeeQueryParser.parse(query);
+
+        // Then
+        AndQuery andQuery = assertInstanceOf(AndQuery.class, parsedQuery);
+        assertEquals(4, andQuery.getOperands().size());
+        assertTrue(parsedQuery.matches(matching));
+        assertFalse(parsedQuery.matches(tooYoung));
+        assertFalse(parsedQuery.matches(inactive));
+    }
+
+    @Test
+    void should_bind_and_tighter_than_or_when_parse_given_mixed_operators_and_parentheses() {
+        // Given
+        String query = "gender=\"Female\" OR salary>=9000 and (age<30 OR age>60)";
+        Employee richYoungMale = new Employee(1L, "Bob", 25, "Male", 9000, 1L);
+        Employee richMiddleAgedMale = new Employee(2L, "Carl", 45, "Male", 9500, 1L);
+
+        // When
+        EmployeeQuery parsedQuery = EmployeeQueryParser.parse(query);
+
+        // Then
+        OrQuery orQuery = assertInstanceOf(OrQuery.class, parsedQuery);
+        assertEquals(2, orQuery.getOperands().size());
+        assertTrue(parsedQuery.matches(richYoungMale));
+        assertFalse(parsedQuery.matches(richMiddleAgedMale));
+    }
+
+    @Test
+    void should_throw_invalid_query_exception_when_parse_given_range_on_unordered_field() {
+        // Given
+        String query = "gender>Female";
+
+        // When
+        InvalidQueryException exception = assertThrows(InvalidQueryException.class, () -> EmployeeQueryParser.parse(query));
+
+        // Then
+        assertEquals("Invalid query: '>' is not supported on gender", exception.getMessage());
+    }
+
+    @Test
+    void should_throw_invalid_query_exception_when_parse_given_range_with_min_above_max() {
+        // Given
+        String query = "age=40..30";
+
+        // When
+        InvalidQueryException exception = assertThrows(InvalidQueryException.class, () -> EmployeeQueryParser.parse(query));
+
+        // Then
+        assertEquals("Invalid query: range 40..30 of age is empty", exception.getMessage());
+    }
+}
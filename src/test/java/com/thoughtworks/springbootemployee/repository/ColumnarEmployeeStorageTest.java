@@ -0,0 +1,137 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.exception.StorageCapacityException;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.persistence.EntityJournal;
+import com.thoughtworks.springbootemployee.query.EmployeeQueryParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ColumnarEmployeeStorageTest {
+
+    @Test
+    void should_materialize_every_field_when_get_given_employee_with_nulls_and_inactive_flag() {
+        // Given
+        ColumnarEmployeeStorage storage = new ColumnarEmployeeStorage();
+        Employee inactive = new Employee(2L, "Bob", 28, "Male", 8000, 1L);
+        inactive.setActive(false);
+        storage.put(1L, new Employee(1L, "Alice", null, null, null, null));
+        storage.put(2L, inactive);
+
+        // When
+        Employee alice = storage.get(1L);
+        Employee bob = storage.get(2L);
+
+        // Then
+        assertEquals("Alice", alice.getName());
+        assertNull(alice.getAge());
+        assertNull(alice.getGender());
+        assertNull(alice.getSalary());
+        assertNull(alice.getCompanyId());
+        assertNull(alice.isActive());
+        assertEquals(2L, bob.getId());
+        assertEquals(28, bob.getAge());
+        assertEquals("Male", bob.getGender());
+        assertEquals(8000, bob.getSalary());
+        assertEquals(1L, bob.getCompanyId());
+        assertEquals(false, bob.isActive());
+        assertNull(storage.get(3L));
+    }
+
+    @Test
+    void should_return_rows_in_id_order_when_values_after_given_sparse_ids_beyond_initial_capacity() {
+        // Given
+        ColumnarEmployeeStorage storage = new ColumnarEmployeeStorage();
+        storage.put(5000L, new Employee(5000L, "Ellen", 34, "Female", 5000, 3L));
+        storage.put(3L, new Employee(3L, "Carl", 32, "Male", 5000, 1L));
+        storage.put(7L, new Employee(7L, "David", 33, "Male", 5000, 2L));
+        storage.put(7L, new Employee(7L, "David", 40, "Male", 6000, 2L));
+
+        // When
+        List<Long> ids = storage.valuesAfter(3L).map(Employee::getId).collect(Collectors.toList());
+
+        // Then
+        assertEquals(List.of(7L, 5000L), ids);
+        assertEquals(40, storage.get(7L).getAge());
+        assertEquals(3, storage.size());
+        assertEquals(Optional.of(5000L), storage.lastId());
+    }
+
+    @Test
+    void should_answer_like_heap_storage_when_query_given_columnar_employee_repository() {
+        // Given
+        EmployeeRepository employeeRepository = new EmployeeRepository(new AtomicIdGenerator(),
+                EntityJournal.disabled(), StorageMode.COLUMNAR, new SimpleMeterRegistry());
+        Employee david = employeeRepository.findEmployeeById(4L);
+        david.setSalary(9000);
+        employeeRepository.updateEmployee(4L, david);
+        Employee added = employeeRepository.addEmployee(new Employee(null, "Fred", 45, "Male", 7000, 2L));
+
+        // When
+        List<Employee> employees = employeeRepository.findEmployees(EmployeeQueryParser.parse("companyId=2 AND salary>6000"));
+
+        // Then
+        assertEquals(List.of(4L, added.getId()), employees.stream().map(Employee::getId).collect(Collectors.toList()));
+        assertEquals(6, employeeRepository.getAllEmployees().size());
+        assertTrue(employeeRepository.getAllEmployees().stream().allMatch(employee -> employee.getName() != null));
+    }
+
+    @Test
+    void should_reject_write_before_listeners_see_it_when_insert_given_gender_dictionary_full() {
+        // Given
+        ConcurrentEntityStore<Employee> store =
+                new ConcurrentEntityStore<>(Employee::getId, Employee::copy, new ColumnarEmployeeStorage());
+        for (int i = 0; i < Short.MAX_VALUE; i++) {
+            store.insert(new Employee((long) i, "Alice", 30, "gender-" + i, 5000, 1L));
+        }
+        List<Employee> published = new ArrayList<>();
+        store.addListener(new EntityStoreListener<>() {
+            @Override
+            public void published(Employee previous, Employee current) {
+                published.add(current);
+            }
+
+            @Override
+            public void cleared() {
+            }
+        });
+
+        // When
+        assertThrows(StorageCapacityException.class,
+                () -> store.insert(new Employee((long) Short.MAX_VALUE, "Bob", 30, "one-too-many", 5000, 1L)));
+
+        // Then
+        assertTrue(published.isEmpty());
+        assertEquals(Short.MAX_VALUE, store.size());
+        assertTrue(store.findById((long) Short.MAX_VALUE).isEmpty());
+    }
+
+    @Test
+    void should_reject_id_before_growing_columns_when_insert_given_id_far_beyond_stored_employees() {
+        // Given
+        ConcurrentEntityStore<Employee> store =
+                new ConcurrentEntityStore<>(Employee::getId, Employee::copy, new ColumnarEmployeeStorage());
+        store.insert(new Employee(1L, "Alice", 30, "Female", 5000, 1L));
+        long farId = PrimitiveEmployeeStorage.MIN_ID_SPAN;
+
+        // When
+        assertThrows(StorageCapacityException.class,
+                () -> store.insert(new Employee(farId, "Bob", 30, "Male", 5000, 1L)));
+        store.insert(new Employee(farId - 1, "Carl", 30, "Male", 5000, 1L));
+
+        // Then
+        assertEquals(2, store.size());
+        assertTrue(store.findById(farId).isEmpty());
+        assertEquals(Optional.of(farId - 1), store.findLastId());
+    }
+}
@@ -0,0 +1,77 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrentEntityStoreTest {
+
+    private static final int THREAD_COUNT = 8;
+    private static final int OPERATIONS_PER_THREAD = 5_000;
+
+    @Test
+    void should_not_lose_updates_when_update_concurrently_given_same_employee() throws Exception {
+        // Given
+        ConcurrentEntityStore<Employee> store = new ConcurrentEntityStore<>(Employee::getId, Employee::copy);
+        store.insert(new Employee(1L, "Alice", 30, "Female", 0, 1L));
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+
+        // When
+        for (int thread = 0; thread < THREAD_COUNT; thread++) {
+            executor.execute(() -> {
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    store.update(1L, employee -> employee.setSalary(employee.getSalary() + 1));
+                }
+            });
+        }
+        executor.shutdown();
+
+        // Then
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        assertEquals(THREAD_COUNT * OPERATIONS_PER_THREAD, store.findById(1L).orElseThrow().getSalary());
+    }
+
+    @Test
+    void should_keep_every_employee_when_add_employee_concurrently_with_paging_given_employee_repository() throws Exception {
+        // Given
+        EmployeeRepository employeeRepository = new EmployeeRepository();
+        employeeRepository.cleanAll();
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT * 2);
+
+        // When
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int thread = 0; thread < THREAD_COUNT; thread++) {
+            tasks.add(executor.submit(() -> {
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    employeeRepository.addEmployee(new Employee(null, "Alice", 30, "Female", 5000, 1L));
+                }
+            }));
+            tasks.add(executor.submit(() -> {
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    employeeRepository.listEmployeesByPage(2L, 10L);
+                }
+            }));
+        }
+        for (Future<?> task : tasks) {
+            task.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        List<Employee> allEmployees = employeeRepository.getAllEmployees();
+        Set<Long> ids = allEmployees.stream().map(Employee::getId).collect(Collectors.toSet());
+        assertEquals(THREAD_COUNT * OPERATIONS_PER_THREAD, allEmployees.size());
+        assertEquals(THREAD_COUNT * OPERATIONS_PER_THREAD, ids.size());
+    }
+}
@@ -0,0 +1,269 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.exception.EmployeeNotFoundException;
+import com.thoughtworks.springbootemployee.exception.EmployeeUpdateException;
+import com.thoughtworks.springbootemployee.exception.VersionConflictException;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.model.PayrollStats;
+import com.thoughtworks.springbootemployee.persistence.EntityJournal;
+import com.thoughtworks.springbootemployee.query.EmployeeQueryParser;
+import com.thoughtworks.springbootemployee.query.QueryField;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EmployeeRepositoryTest {
+
+    private EmployeeRepository employeeRepository;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository = new EmployeeRepository();
+        employeeRepository.cleanAll();
+    }
+
+    @Test
+    void should_return_indexed_employees_in_insertion_order_when_find_employee_by_gender_given_mixed_genders() {
+        // Given
+        Employee alice = employeeRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000, 1L));
+        employeeRepository.addEmployee(new Employee(null, "Bob", 28, "Male", 8000, 1L));
+        Employee ellen = employeeRepository.addEmployee(new Employee(null, "Ellen", 34, "Female", 5000, 2L));
+
+        // When
+        List<Employee> females = employeeRepository.findEmployeeByGender("Female");
+
+        // Then
+        assertEquals(2, females.size());
+        assertEquals(alice.getId(), females.get(0).getId());
+        assertEquals(ellen.getId(), females.get(1).getId());
+    }
+
+    @Test
+    void should_keep_indexes_consistent_when_update_and_soft_delete_given_indexed_employee() {
+        // Given
+        Employee alice = employeeRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000, 1L));
+
+        // When
+        employeeRepository.updateEmployee(alice.getId(), new Employee(null, null, 30, null, 10000));
+        employeeRepository.deactivateEmployee(alice.getId());
+
+        // Then
+        List<Employee> companyEmployees = employeeRepository.findEmployeesByCompanyId(1L);
+        assertEquals(1, companyEmployees.size());
+        assertTrue(companyEmployees.get(0).isInactive());
+        assertEquals(1, employeeRepository.findEmployeeByGender("Female").size());
+        assertTrue(employeeRepository.findEmployeesByCompanyId(2L).isEmpty());
+    }
+
+    @Test
+    void should_group_employees_by_company_when_find_employees_by_company_ids_given_companies_with_and_without_staff() {
+        // Given
+        Employee alice = employeeRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000, 1L));
+        employeeRepository.addEmployee(new Employee(null, "Bob", 28, "Male", 8000, 2L));
+        Employee carl = employeeRepository.addEmployee(new Employee(null, "Carl", 32, "Male", 5000, 1L));
+
+        // When
+        Map<Long, List<Employee>> employeesByCompanyId = employeeRepository.findEmployeesByCompanyIds(List.of(1L, 3L));
+
+        // Then
+        assertEquals(2, employeesByCompanyId.size());
+        assertEquals(List.of(alice.getId(), carl.getId()), employeesByCompanyId.get(1L).stream()
+                .map(Employee::getId).collect(Collectors.toList()));
+        assertTrue(employeesByCompanyId.get(3L).isEmpty());
+    }
+
+    @Test
+    void should_deactivate_only_active_employees_when_deactivate_employees_given_mixed_and_missing_ids() {
+        // Given
+        Employee alice = employeeRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000, 1L));
+        Employee bob = employeeRepository.addEmployee(new Employee(null, "Bob", 28, "Male", 8000, 1L));
+        employeeRepository.deactivateEmployee(bob.getId());
+
+        // When
+        List<Long> deactivatedIds = employeeRepository.deactivateEmployees(List.of(alice.getId(), bob.getId(), 99L));
+
+        // Then
+        assertEquals(List.of(alice.getId()), deactivatedIds);
+        assertTrue(employeeRepository.findEmployeeById(alice.getId()).isInactive());
+        assertEquals(2L, employeeRepository.findEmployeeById(alice.getId()).getVersion());
+        assertEquals(2L, employeeRepository.findEmployeeById(bob.getId()).getVersion());
+        assertEquals(0, employeeRepository.getPayrollStatsByCompanyId(1L).getHeadcount());
+    }
+
+    @Test
+    void should_record_operation_timers_and_activity_gauges_when_write_and_lookup_given_meter_registry() {
+        // Given
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        EmployeeRepository instrumentedRepository =
+                new EmployeeRepository(new AtomicIdGenerator(), EntityJournal.disabled(), meterRegistry);
+        Employee alice = instrumentedRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000, 1L));
+
+        // When
+        instrumentedRepository.deactivateEmployee(alice.getId());
+        assertThrows(EmployeeNotFoundException.class, () -> instrumentedRepository.findEmployeeById(99L));
+
+        // Then
+        assertEquals(6.0, meterRegistry.get("repository.size").tag("entity", "employees").gauge().value());
+        assertEquals(5.0, meterRegistry.get("repository.entities").tags("entity", "employees", "state", "active").gauge().value());
+        assertEquals(1.0, meterRegistry.get("repository.entities").tags("entity", "employees", "state", "inactive").gauge().value());
+        assertEquals(1, meterRegistry.get("repository.operations").tags("entity", "employees", "operation", "lookup").timer().count());
+        assertEquals(1, meterRegistry.get("repository.operations").tags("entity", "employees", "operation", "deactivate").timer().count());
+        assertEquals(1.0, meterRegistry.get("repository.operation.failures").tags("entity", "employees", "operation", "lookup").counter().count());
+    }
+
+    @Test
+    void should_move_employee_between_payroll_groups_when_update_and_soft_delete_given_tracked_employees() {
+        // Given
+        Employee alice = employeeRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000, 1L));
+        Employee ellen = employeeRepository.addEmployee(new Employee(null, "Ellen", 34, "Female", 5000, 1L));
+
+        // When
+        employeeRepository.updateEmployee(alice.getId(), new Employee(null, null, 31, null, 12000));
+        employeeRepository.deactivateEmployee(ellen.getId());
+
+        // Then
+        PayrollStats companyStats = employeeRepository.getPayrollStatsByCompanyId(1L);
+        assertEquals(1, companyStats.getHeadcount());
+        assertEquals(12000, companyStats.getTotalSalary());
+        assertEquals(12000, companyStats.getMinSalary());
+        assertEquals(12000, companyStats.getMaxSalary());
+        assertEquals(Map.of("30-39", 1L), companyStats.getAgeDistribution());
+        assertEquals(1, employeeRepository.getPayrollStatsByGender("Female").getHeadcount());
+        assertEquals(0, employeeRepository.getPayrollStatsByCompanyId(2L).getHeadcount());
+    }
+
+    @Test
+    void should_return_same_employees_in_id_order_when_find_employees_given_indexed_and_unindexed_queries() {
+        // Given
+        Employee alice = employeeRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000, 1L));
+        Employee bob = employeeRepository.addEmployee(new Employee(null, "Bob", 28, "Male", 8000, 2L));
+        Employee ellen = employeeRepository.addEmployee(new Employee(null, "Ellen", 34, "Female", 5000, 3L));
+        employeeRepository.addEmployee(new Employee(null, "Frank", 50, "Male", 4000, 4L));
+
+        // When
+        List<Employee> indexed = employeeRepository.findEmployees(EmployeeQueryParser.parse("companyId=1 OR companyId=3"));
+        List<Employee> scanned = employeeRepository.findEmployees(EmployeeQueryParser.parse("salary>=5000"));
+
+        // Then
+        assertEquals(List.of(alice.getId(), ellen.getId()),
+                indexed.stream().map(Employee::getId).collect(Collectors.toList()));
+        assertEquals(List.of(alice.getId(), bob.getId(), ellen.getId()),
+                scanned.stream().map(Employee::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void should_follow_updated_salaries_and_ages_when_list_sorted_and_range_given_updated_employees() {
+        // Given
+        Employee alice = employeeRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000, 1L));
+        Employee bob = employeeRepository.addEmployee(new Employee(null, "Bob", 28, "Male", 8000, 1L));
+        Employee carl = employeeRepository.addEmployee(new Employee(null, "Carl", 45, "Male", 5000, 2L));
+
+        // When
+        employeeRepository.updateEmployee(carl.getId(), new Employee(null, null, 35, null, 12000));
+        List<Employee> topEarners = employeeRepository.listEmployeesSortedBy(QueryField.SALARY, true, 2);
+        List<Employee> thirtySomethings = employeeRepository.findEmployeesInRange(QueryField.AGE, 30, 39, Long.MAX_VALUE);
+
+        // Then
+        assertEquals(List.of(carl.getId(), alice.getId()),
+                topEarners.stream().map(Employee::getId).collect(Collectors.toList()));
+        assertEquals(List.of(carl.getId()),
+                thirtySomethings.stream().map(Employee::getId).collect(Collectors.toList()));
+        assertEquals(List.of(alice.getId(), bob.getId()),
+                employeeRepository.findEmployees(EmployeeQueryParser.parse("age<30")).stream()
+                        .map(Employee::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void should_bump_entity_and_collection_versions_when_update_employee_given_expected_version() {
+        // Given
+        Employee alice = employeeRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000, 1L));
+        long collectionVersion = employeeRepository.getCollectionVersion();
+
+        // When
+        Employee updatedAlice = employeeRepository.updateEmployee(alice.getId(), new Employee(null, null, 25, null, 9500), 1L);
+
+        // Then
+        assertEquals(1L, alice.getVersion());
+        assertEquals(2L, updatedAlice.getVersion());
+        assertEquals(collectionVersion + 1, employeeRepository.getCollectionVersion());
+        assertThrows(VersionConflictException.class, () ->
+                employeeRepository.updateEmployee(alice.getId(), new Employee(null, null, 26, null, 9900), 1L));
+        assertEquals(9500, employeeRepository.findEmployeeById(alice.getId()).getSalary());
+        assertEquals(collectionVersion + 1, employeeRepository.getCollectionVersion());
+    }
+
+    @Test
+    void should_throw_exception_and_keep_employee_when_update_employee_given_inactive_employee() {
+        // Given
+        Employee lucy = employeeRepository.addEmployee(new Employee(null, "Lucy", 20, "Female", 3000, 1L));
+        Employee deactivatedLucy = employeeRepository.deactivateEmployee(lucy.getId());
+
+        // When
+        EmployeeUpdateException employeeUpdateException = assertThrows(EmployeeUpdateException.class, () ->
+                employeeRepository.updateEmployee(lucy.getId(), new Employee(null, null, 30, null, 10000)));
+
+        // Then
+        assertEquals("Employee is inactive", employeeUpdateException.getMessage());
+        assertEquals(3000, employeeRepository.findEmployeeById(lucy.getId()).getSalary());
+        assertEquals(deactivatedLucy.getVersion(), employeeRepository.findEmployeeById(lucy.getId()).getVersion());
+    }
+
+    @Test
+    void should_leave_indexes_and_stats_unchanged_when_add_employee_given_journal_append_fails() {
+        // Given
+        FailingJournal journal = new FailingJournal();
+        EmployeeRepository journaledRepository = new EmployeeRepository(new AtomicIdGenerator(), journal);
+        journaledRepository.cleanAll();
+        journal.failing = true;
+
+        // When
+        assertThrows(UncheckedIOException.class,
+                () -> journaledRepository.addEmployee(new Employee(null, "Alice", 24, "Female", 9000, 1L)));
+
+        // Then
+        assertTrue(journaledRepository.getAllEmployees().isEmpty());
+        assertTrue(journaledRepository.findEmployeeByGender("Female").isEmpty());
+        assertTrue(journaledRepository.findEmployeesByCompanyId(1L).isEmpty());
+        assertEquals(0, journaledRepository.getPayrollStats().getHeadcount());
+        assertEquals(0, journaledRepository.getPayrollStatsByCompanyId(1L).getHeadcount());
+    }
+
+    private static class FailingJournal implements EntityJournal<Employee> {
+
+        private boolean failing;
+
+        @Override
+        public Optional<Stream<Employee>> recover() {
+            return Optional.empty();
+        }
+
+        @Override
+        public void attach(ConcurrentEntityStore<Employee> store) {
+            store.attachJournal(this);
+        }
+
+        @Override
+        public void published(Employee previous, Employee current) {
+            if (failing) {
+                throw new UncheckedIOException(new IOException("No space left on device"));
+            }
+        }
+
+        @Override
+        public void cleared() {
+        }
+    }
+}
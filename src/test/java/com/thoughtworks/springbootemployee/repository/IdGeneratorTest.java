@@ -0,0 +1,126 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class IdGeneratorTest {
+
+    private static final int THREAD_COUNT = 8;
+    private static final int IDS_PER_THREAD = 10_000;
+
+    @Test
+    void should_continue_after_seeded_id_when_next_id_given_atomic_id_generator_reset_to_last_used_id() {
+        // Given
+        IdGenerator idGenerator = new AtomicIdGenerator();
+        idGenerator.reset(5L);
+
+        // When
+        long nextId = idGenerator.nextId();
+
+        // Then
+        assertEquals(6L, nextId);
+    }
+
+    @Test
+    void should_hand_out_consecutive_ids_across_blocks_when_next_id_given_hi_lo_id_generator() {
+        // Given
+        IdGenerator idGenerator = new HiLoIdGenerator(new LocalBlockAllocator(), 2);
+        idGenerator.reset(10L);
+
+        // When, Then
+        assertEquals(11L, idGenerator.nextId());
+        assertEquals(12L, idGenerator.nextId());
+        assertEquals(13L, idGenerator.nextId());
+    }
+
+    @Test
+    void should_not_reuse_ids_of_other_node_when_reset_given_hi_lo_id_generators_sharing_a_block_allocator() {
+        // Given
+        BlockAllocator sharedAllocator = new LocalBlockAllocator();
+        IdGenerator firstNode = new HiLoIdGenerator(sharedAllocator, 100);
+        IdGenerator secondNode = new HiLoIdGenerator(sharedAllocator, 100);
+        firstNode.nextId();
+        secondNode.nextId();
+
+        // When
+        firstNode.reset(0L);
+
+        // Then
+        assertEquals(201L, firstNode.nextId());
+        assertEquals(102L, secondNode.nextId());
+    }
+
+    @Test
+    void should_not_collide_when_next_id_given_two_hi_lo_id_generators_sharing_a_block_allocator() {
+        // Given
+        BlockAllocator sharedAllocator = new LocalBlockAllocator();
+        IdGenerator firstNode = new HiLoIdGenerator(sharedAllocator, 100);
+        IdGenerator secondNode = new HiLoIdGenerator(sharedAllocator, 100);
+
+        // When
+        long firstId = firstNode.nextId();
+        long secondId = secondNode.nextId();
+
+        // Then
+        assertEquals(1L, firstId);
+        assertEquals(101L, secondId);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void should_give_each_entity_its_own_blocks_when_create_given_hi_lo_strategy_and_shared_block_allocators() {
+        // Given
+        IdProperties properties = new IdProperties();
+        properties.setStrategy(IdStrategy.HI_LO);
+        Map<String, BlockAllocator> sharedAllocators = new ConcurrentHashMap<>();
+        ObjectProvider<BlockAllocatorFactory> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(entity -> sharedAllocators.computeIfAbsent(entity,
+                ignored -> new LocalBlockAllocator()));
+        IdGeneratorFactory idGeneratorFactory = new IdGeneratorFactory(properties, provider);
+
+        // When
+        long employeeId = idGeneratorFactory.create("employees").nextId();
+        long companyId = idGeneratorFactory.create("companies").nextId();
+        long secondEmployeeNodeId = idGeneratorFactory.create("employees").nextId();
+
+        // Then
+        assertEquals(1L, employeeId);
+        assertEquals(1L, companyId);
+        assertEquals(101L, secondEmployeeNodeId);
+        assertEquals(Set.of("employees", "companies"), sharedAllocators.keySet());
+    }
+
+    @Test
+    void should_generate_unique_ids_when_next_id_concurrently_given_atomic_and_hi_lo_id_generators() throws InterruptedException {
+        assertUniqueUnderConcurrency(new AtomicIdGenerator());
+        assertUniqueUnderConcurrency(new HiLoIdGenerator(new LocalBlockAllocator(), 64));
+    }
+
+    private void assertUniqueUnderConcurrency(IdGenerator idGenerator) throws InterruptedException {
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        for (int thread = 0; thread < THREAD_COUNT; thread++) {
+            executor.execute(() -> {
+                for (int i = 0; i < IDS_PER_THREAD; i++) {
+                    ids.add(idGenerator.nextId());
+                }
+            });
+        }
+        executor.shutdown();
+
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        assertEquals(THREAD_COUNT * IDS_PER_THREAD, ids.size());
+    }
+}
@@ -0,0 +1,85 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.model.PayrollStats;
+import com.thoughtworks.springbootemployee.persistence.EntityJournal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class OffHeapEmployeeStorageTest {
+
+    @Test
+    void should_materialize_every_field_when_get_given_employees_with_nulls_and_multibyte_name() {
+        // Given
+        OffHeapEmployeeStorage storage = new OffHeapEmployeeStorage();
+        Employee zoe = new Employee(2L, "Zo\u00eb \u00c5berg", 28, "Female", 8000, 1L);
+        zoe.setActive(true);
+        storage.put(1L, new Employee(1L, null, null, null, null, null));
+        storage.put(2L, zoe);
+
+        // When
+        Employee empty = storage.get(1L);
+        Employee materialized = storage.get(2L);
+
+        // Then
+        assertNull(empty.getName());
+        assertNull(empty.getAge());
+        assertNull(empty.getGender());
+        assertNull(empty.getSalary());
+        assertNull(empty.getCompanyId());
+        assertNull(empty.isActive());
+        assertEquals("Zo\u00eb \u00c5berg", materialized.getName());
+        assertEquals(28, materialized.getAge());
+        assertEquals("Female", materialized.getGender());
+        assertEquals(8000, materialized.getSalary());
+        assertEquals(1L, materialized.getCompanyId());
+        assertEquals(true, materialized.isActive());
+        assertNull(storage.get(3L));
+    }
+
+    @Test
+    void should_return_latest_version_in_id_order_when_values_given_rewritten_rows_across_record_chunks() {
+        // Given
+        OffHeapEmployeeStorage storage = new OffHeapEmployeeStorage();
+        storage.put(40_000L, new Employee(40_000L, "Ellen", 34, "Female", 5000, 3L));
+        storage.put(1L, new Employee(1L, "Alice", 30, "Female", 5000, 1L));
+        storage.put(1L, new Employee(1L, "Alicia", 31, "Female", 6000, 1L));
+
+        // When
+        List<Employee> employees = storage.values().collect(Collectors.toList());
+
+        // Then
+        assertEquals(List.of(1L, 40_000L), employees.stream().map(Employee::getId).collect(Collectors.toList()));
+        assertEquals("Alicia", employees.get(0).getName());
+        assertEquals(6000, employees.get(0).getSalary());
+        assertEquals(2, storage.size());
+        assertEquals(Optional.of(40_000L), storage.lastId());
+    }
+
+    @Test
+    void should_keep_derived_statistics_when_update_employee_given_off_heap_employee_repository() {
+        // Given
+        EmployeeRepository employeeRepository = new EmployeeRepository(new AtomicIdGenerator(),
+                EntityJournal.disabled(), StorageMode.OFF_HEAP, new SimpleMeterRegistry());
+        Employee alice = employeeRepository.findEmployeeById(1L);
+        alice.setSalary(9000);
+
+        // When
+        employeeRepository.updateEmployee(1L, alice);
+        PayrollStats stats = employeeRepository.getPayrollStatsByCompanyId(1L);
+
+        // Then
+        assertEquals("Alice", employeeRepository.findEmployeeById(1L).getName());
+        assertEquals(2, stats.getHeadcount());
+        assertEquals(14000L, stats.getTotalSalary());
+        assertEquals(List.of("Alice", "Carl"), employeeRepository.findEmployeesByCompanyId(1L).stream()
+                .map(Employee::getName).collect(Collectors.toList()));
+    }
+}
@@ -1,6 +1,11 @@
 package com.thoughtworks.springbootemployee.service;
 
+import com.thoughtworks.springbootemployee.exception.CascadeJobRejectedException;
+import com.thoughtworks.springbootemployee.exception.CompanyNotFoundException;
+import com.thoughtworks.springbootemployee.jobs.EmployeeDeactivationJobs;
 import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.CompanyWithEmployees;
+import com.thoughtworks.springbootemployee.model.CursorPage;
 import com.thoughtworks.springbootemployee.model.Employee;
 import com.thoughtworks.springbootemployee.repository.CompanyRepository;
 import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
@@ -8,11 +13,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.mockito.ArgumentMatchers.argThat;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 public class CompanyServiceTest {
@@ -20,12 +26,14 @@ public class CompanyServiceTest {
     private CompanyService companyService;
     private CompanyRepository mockedCompanyRepository;
     private EmployeeRepository mockedEmployeeRepository;
+    private EmployeeDeactivationJobs mockedDeactivationJobs;
 
     @BeforeEach
     void setUp() {
         mockedCompanyRepository = mock(CompanyRepository.class);
         mockedEmployeeRepository = mock(EmployeeRepository.class);
-        companyService = new CompanyService(mockedCompanyRepository, mockedEmployeeRepository);
+        mockedDeactivationJobs = mock(EmployeeDeactivationJobs.class);
+        companyService = new CompanyService(mockedCompanyRepository, mockedEmployeeRepository, mockedDeactivationJobs);
     }
 
     @Test
@@ -57,6 +65,37 @@ public class CompanyServiceTest {
         assertEquals(company.getName(), foundCompany.getName());
     }
 
+    @Test
+    void should_throw_not_found_without_reading_employees_when_find_employees_by_company_id_given_non_existing_company() {
+        // Given
+        when(mockedCompanyRepository.findCompanyById(99L)).thenThrow(new CompanyNotFoundException());
+
+        // When, Then
+        assertThrows(CompanyNotFoundException.class, () -> companyService.findEmployeesByCompanyId(99L));
+        verify(mockedEmployeeRepository, never()).findEmployeesByCompanyId(any());
+    }
+
+    @Test
+    void should_assemble_companies_with_employees_in_one_lookup_when_get_all_with_employees_given_company_service() {
+        // Given
+        Company oocl = new Company(1L, "OOCL");
+        Company cargoSmart = new Company(2L, "CargoSmart");
+        Employee alice = new Employee(1L, "Alice", 24, "Female", 9000, oocl.getId());
+        when(mockedCompanyRepository.getAllCompanies()).thenReturn(List.of(oocl, cargoSmart));
+        when(mockedEmployeeRepository.findEmployeesByCompanyIds(List.of(1L, 2L)))
+                .thenReturn(Map.of(1L, List.of(alice), 2L, List.of()));
+
+        // When
+        List<CompanyWithEmployees> companies = companyService.getAllWithEmployees();
+
+        // Then
+        assertEquals(2, companies.size());
+        assertEquals(List.of(alice), companies.get(0).getEmployees());
+        assertEquals(cargoSmart.getName(), companies.get(1).getName());
+        assertTrue(companies.get(1).getEmployees().isEmpty());
+        verify(mockedEmployeeRepository, times(1)).findEmployeesByCompanyIds(any());
+    }
+
     @Test
     void should_return_employees_by_given_company_when_get_find_employees_by_company_id_given_company_service() {
         // Given
@@ -78,21 +117,29 @@ public class CompanyServiceTest {
     }
 
     @Test
-    void should_return_inactive_company_when_delete_given_company_service_and_active_company() {
+    void should_deactivate_company_when_delete_given_company_service_and_active_company() {
         // Given
-        Company company = new Company("OOCL");
-        company.setActive(Boolean.TRUE);
-        when(mockedCompanyRepository.findCompanyById(company.getId())).thenReturn(company);
+        Long id = 1L;
 
         // When
-        companyService.delete(company.getId());
+        companyService.delete(id);
 
         // Then
-        verify(mockedCompanyRepository).updateCompany(eq(company.getId()), argThat(tempCompany -> {
-            assertFalse(tempCompany.isActive());
-            assertEquals("OOCL", tempCompany.getName());
-            return true;
-        }));
+        verify(mockedCompanyRepository).deactivateCompany(id);
+        verify(mockedCompanyRepository, never()).updateCompany(any(), any(), any());
+    }
+
+    @Test
+    void should_leave_company_active_when_delete_with_employees_given_full_job_queue() {
+        // Given
+        Long id = 1L;
+        when(mockedDeactivationJobs.reserve()).thenThrow(new CascadeJobRejectedException());
+
+        // When
+        assertThrows(CascadeJobRejectedException.class, () -> companyService.deleteWithEmployees(id));
+
+        // Then
+        verify(mockedCompanyRepository, never()).deactivateCompany(any());
     }
 
     @Test
@@ -115,7 +162,7 @@ public class CompanyServiceTest {
         // Given
         Company company = new Company(null, "OOCL");
         Company updatedCompanyInfo = new Company(null, "Thoughtworks");
-        when(mockedCompanyRepository.updateCompany(company.getId(), updatedCompanyInfo)).thenReturn(updatedCompanyInfo);
+        when(mockedCompanyRepository.updateCompany(company.getId(), updatedCompanyInfo, null)).thenReturn(updatedCompanyInfo);
 
         // When
         Company updatedCompany = companyService.update(company.getId(), updatedCompanyInfo);
@@ -139,4 +186,19 @@ public class CompanyServiceTest {
         assertEquals(pagedCompanies.get(0).getId(), company.getId());
         assertEquals(pagedCompanies.get(0).getName(), company.getName());
     }
+
+    @Test
+    void should_return_cursor_page_when_get_companies_after_given_company_service_and_cursor_and_limit() {
+        // Given
+        Company company = new Company(2L, "OOCL");
+        CursorPage<Company> page = new CursorPage<>(List.of(company), null);
+        when(mockedCompanyRepository.listCompaniesAfter(1L, 1)).thenReturn(page);
+
+        // When
+        CursorPage<Company> foundPage = companyService.getCompaniesAfter(1L, 1);
+
+        // Then
+        assertEquals(company.getId(), foundPage.getItems().get(0).getId());
+        assertNull(foundPage.getNextCursor());
+    }
 }
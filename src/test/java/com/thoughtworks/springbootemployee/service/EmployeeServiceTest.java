@@ -1,13 +1,15 @@
 package com.thoughtworks.springbootemployee.service;
 
 import com.thoughtworks.springbootemployee.exception.EmployeeCreateException;
-import com.thoughtworks.springbootemployee.exception.EmployeeUpdateException;
+import com.thoughtworks.springbootemployee.model.BatchItemResult;
+import com.thoughtworks.springbootemployee.model.CursorPage;
 import com.thoughtworks.springbootemployee.model.Employee;
 import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -122,24 +124,16 @@ public class EmployeeServiceTest {
     }
 
     @Test
-    void should_return_inactive_employee_when_delete_given_employee_service_and_active_employee() {
+    void should_deactivate_employee_when_delete_given_employee_service_and_active_employee() {
         // Given
-        Employee employee = new Employee(null, "Lucy", 20, "Female", 3000);
-        employee.setActive(Boolean.TRUE);
-        when(mockedEmployeeRepository.findEmployeeById(employee.getId())).thenReturn(employee);
+        Long id = 1L;
 
         // When
-        employeeService.delete(employee.getId());
+        employeeService.delete(id);
 
         // Then
-        verify(mockedEmployeeRepository).updateEmployee(eq(employee.getId()), argThat(tempEmployee -> {
-            assertFalse(tempEmployee.isActive());
-            assertEquals("Lucy", tempEmployee.getName());
-            assertEquals(20, tempEmployee.getAge());
-            assertEquals("Female", tempEmployee.getGender());
-            assertEquals(3000, tempEmployee.getSalary());
-            return true;
-        }));
+        verify(mockedEmployeeRepository).deactivateEmployee(id);
+        verify(mockedEmployeeRepository, never()).updateEmployee(any(), any(), any());
     }
 
     @Test
@@ -148,8 +142,7 @@ public class EmployeeServiceTest {
         Employee employee = new Employee(1L, "Lucy", 20, "Female", 3000);
         employee.setActive(Boolean.TRUE);
         Employee updatedEmployeeInfo = new Employee(null, null, 30, null, 10000);
-        when(mockedEmployeeRepository.findEmployeeById(employee.getId())).thenReturn(employee);
-        when(mockedEmployeeRepository.updateEmployee(employee.getId(), updatedEmployeeInfo)).thenReturn(employee);
+        when(mockedEmployeeRepository.updateEmployee(employee.getId(), updatedEmployeeInfo, null)).thenReturn(employee);
 
         // When
         Employee updatedEmployee = employeeService.update(employee.getId(), updatedEmployeeInfo);
@@ -161,21 +154,7 @@ public class EmployeeServiceTest {
             assertEquals(30, tempEmployee.getAge());
             assertEquals(10000, tempEmployee.getSalary());
             return true;
-        }));
-    }
-
-    @Test
-    void should_throw_exception_when_update_given_employee_service_and_inactive_employee_and_age_and_salary() {
-        // Given
-        Employee employee = new Employee(null, "Lucy", 20, "Female", 3000);
-        employee.setActive(Boolean.FALSE);
-        Employee updatedEmployeeInfo = new Employee(null, "Lucy", 30, "Female", 10000);
-        when(mockedEmployeeRepository.findEmployeeById(employee.getId())).thenReturn(employee);
-
-        // When, Then
-        EmployeeUpdateException employeeUpdateException = assertThrows(EmployeeUpdateException.class, () ->
-                employeeService.update(null, updatedEmployeeInfo));
-        assertEquals("Employee is inactive", employeeUpdateException.getMessage());
+        }), isNull());
     }
 
     @Test
@@ -195,4 +174,40 @@ public class EmployeeServiceTest {
         assertEquals(pagedEmployees.get(0).getGender(), alice.getGender());
         assertEquals(pagedEmployees.get(0).getSalary(), alice.getSalary());
     }
+
+    @Test
+    void should_return_cursor_page_when_get_employees_after_given_employee_service_and_cursor_and_limit() {
+        // Given
+        Employee alice = new Employee(2L, "Alice", 24, "Female", 9000);
+        CursorPage<Employee> page = new CursorPage<>(List.of(alice), alice.getId());
+        when(mockedEmployeeRepository.listEmployeesAfter(1L, 1)).thenReturn(page);
+
+        // When
+        CursorPage<Employee> foundPage = employeeService.getEmployeesAfter(1L, 1);
+
+        // Then
+        assertEquals(alice.getId(), foundPage.getItems().get(0).getId());
+        assertEquals(alice.getId(), foundPage.getNextCursor());
+    }
+
+    @Test
+    void should_return_per_item_results_when_create_all_given_employee_service_and_valid_and_invalid_employees() {
+        // Given
+        Employee lucy = new Employee(null, "Lucy", 20, "Female", 3000);
+        Employee tooYoung = new Employee(null, "Tom", 17, "Male", 3000);
+        Employee savedLucy = new Employee(1L, "Lucy", 20, "Female", 3000);
+        when(mockedEmployeeRepository.runInBatch(any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+        when(mockedEmployeeRepository.addEmployee(lucy)).thenReturn(savedLucy);
+
+        // When
+        List<BatchItemResult<Employee>> results = employeeService.createAll(List.of(lucy, tooYoung));
+
+        // Then
+        assertEquals(2, results.size());
+        assertEquals(201, results.get(0).getStatus());
+        assertEquals(savedLucy.getId(), results.get(0).getEntity().getId());
+        assertEquals(400, results.get(1).getStatus());
+        assertEquals("Employee must be 18~65 years old", results.get(1).getError());
+        verify(mockedEmployeeRepository, times(1)).addEmployee(any());
+    }
 }